@@ -67,6 +67,10 @@ public class LambdaPrimingCracJavaCdkStack extends Stack {
     private static final String PRIME_TYPE_INVOKE_PRIMING = "3_SnapStart_INVOKE_PRIMING";
     private static final String PRIME_TYPE_CLASS_PRIMING = "4_SnapStart_CLASS_PRIMING";
     private static final String DB_LOADER = "5_DB_LOADER";
+    private static final String PRIME_TYPE_CONFIGURABLE_PRIMING = "6_SnapStart_CONFIGURABLE_PRIMING";
+    private static final String CONFIGURABLE_PRIMING_STRATEGIES = "classes,invoke,serialization";
+    private static final String PRIME_TYPE_SPRING_FREE = "7_SnapStart_SPRING_FREE";
+    private static final String PRIME_TYPE_STREAMING = "8_SnapStart_STREAMING";
     private static final String DB_LOADER_FUNCTION_CODE_PATH = "../software/setup/";
     private static final String PRIMING_FUNCTION_CODE_PATH = "../software/priming/";
     private static final String DB_LOADER_FUNCTION_JAR_NAME = "software-setup-0.1.jar";
@@ -74,6 +78,16 @@ public class LambdaPrimingCracJavaCdkStack extends Stack {
     private static final String COPY_FROM_PATH = "/asset-input/target/";
     private static final String COPY_TO_PATH = "/asset-output/";
 
+    // Only the variants that measure the reconnect after a restore, the streaming JSON writer and
+    // the employee index opt in to them, the others run with the defaults of the baseline.
+    private static final Map<String, String> EAGER_DATASOURCE_RESTORE = Map.of(
+            "UNICORN_DATASOURCE_RESTORE_POLICY", "eager",
+            "UNICORN_DATASOURCE_ALLOW_POOL_SUSPENSION", "true");
+
+    private static final Map<String, String> STREAMING_JSON_WRITER = Map.of("UNICORN_JSON_WRITER", "streaming");
+
+    private static final Map<String, String> EMPLOYEE_INDEX = Map.of("UNICORN_INDEX_ENABLED", "true");
+
     public LambdaPrimingCracJavaCdkStack(final Construct scope, final String id) {
         this(scope, id, null);
     }
@@ -240,6 +254,36 @@ public class LambdaPrimingCracJavaCdkStack extends Stack {
                 databasePassword,
                 PRIMING_FUNCTION_CODE_PATH);
 
+        // Function for SnapStart with a configurable pipeline of priming strategies
+        createFunction(vpc, primingCode, PRIME_TYPE_CONFIGURABLE_PRIMING,
+                "software.amazon.awscdk.examples.unicorn.handler.ConfigurablePriming",
+                SnapStartConf.ON_PUBLISHED_VERSIONS,
+                databaseUrl,
+                null,
+                databasePassword,
+                PRIMING_FUNCTION_CODE_PATH,
+                environment(Map.of("PRIMING_STRATEGIES", CONFIGURABLE_PRIMING_STRATEGIES),
+                        EAGER_DATASOURCE_RESTORE, STREAMING_JSON_WRITER, EMPLOYEE_INDEX));
+
+        // Function for SnapStart without priming and without the Spring application context
+        createFunction(vpc, primingCode, PRIME_TYPE_SPRING_FREE,
+                "software.amazon.awscdk.examples.unicorn.handler.SpringFree",
+                SnapStartConf.ON_PUBLISHED_VERSIONS,
+                databaseUrl,
+                null,
+                databasePassword,
+                PRIMING_FUNCTION_CODE_PATH);
+
+        // Function for SnapStart with INVOKE priming and a response streamed from the result set
+        createFunction(vpc, primingCode, PRIME_TYPE_STREAMING,
+                "software.amazon.awscdk.examples.unicorn.handler.StreamingPriming",
+                SnapStartConf.ON_PUBLISHED_VERSIONS,
+                databaseUrl,
+                null,
+                databasePassword,
+                PRIMING_FUNCTION_CODE_PATH,
+                EAGER_DATASOURCE_RESTORE);
+
     }
 
     private void createFunction(IVpc vpc, Code code, String primeType, String handler,
@@ -248,6 +292,17 @@ public class LambdaPrimingCracJavaCdkStack extends Stack {
             String databaseUsername,
             String databasePassword,
             String functionCodePath) {
+        createFunction(vpc, code, primeType, handler, snapStartConf, databaseUrl, databaseUsername,
+                databasePassword, functionCodePath, Map.of());
+    }
+
+    private void createFunction(IVpc vpc, Code code, String primeType, String handler,
+            SnapStartConf snapStartConf,
+            String databaseUrl,
+            String databaseUsername,
+            String databasePassword,
+            String functionCodePath,
+            Map<String, String> additionalEnvironmentVariables) {
         Map<String, String> environmentVariables = new HashMap<>();
         environmentVariables.put("SPRING_DATASOURCE_URL", databaseUrl);
         environmentVariables.put("SPRING_DATASOURCE_PASSWORD", databasePassword);
@@ -255,6 +310,7 @@ public class LambdaPrimingCracJavaCdkStack extends Stack {
             environmentVariables.put("SPRING_DATABASE_USERNAME", databaseUsername);
         }
         environmentVariables.put("JAVA_TOOL_OPTIONS", "");
+        environmentVariables.putAll(additionalEnvironmentVariables);
 
         var logGroup = LogGroup.Builder.create(this, "PrimingLogGroup-%s".formatted(primeType))
                 .retention(RetentionDays.THREE_DAYS)
@@ -277,14 +333,30 @@ public class LambdaPrimingCracJavaCdkStack extends Stack {
                 .build();
 
         var functionCurrentVersion = function.getCurrentVersion();
-        createLambdaRestApiIntegration("PrimingJavaRestApi-%s".formatted(primeType), functionCurrentVersion);
+        createLambdaRestApiIntegration("PrimingJavaRestApi-%s".formatted(primeType), functionCurrentVersion,
+                "true".equals(environmentVariables.get("UNICORN_COMPRESSION_ENABLED")));
+    }
+
+    @SafeVarargs
+    private static Map<String, String> environment(Map<String, String>... environmentVariables) {
+        Map<String, String> merged = new HashMap<>();
+        for (var variables : environmentVariables) {
+            merged.putAll(variables);
+        }
+        return merged;
     }
 
-    private void createLambdaRestApiIntegration(String restApiName, Version version) {
-        LambdaRestApi.Builder.create(this, restApiName)
+    // A REST API only decodes base64 bodies for binary media types, matched against the Accept
+    // header of the request. Only the variants that compress declare them, the others keep the
+    // text handling of the baseline.
+    private void createLambdaRestApiIntegration(String restApiName, Version version, boolean compressed) {
+        var restApi = LambdaRestApi.Builder.create(this, restApiName)
                 .restApiName(restApiName)
-                .handler(version)
-                .build();
+                .handler(version);
+        if (compressed) {
+            restApi.binaryMediaTypes(List.of("*/*"));
+        }
+        restApi.build();
     }
 
     private Code createCodePackage(BundlingOptions.Builder buildOptions, String codePath, String jarName,
@@ -0,0 +1,56 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.benchmark;
+
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+
+import software.amazon.awscdk.examples.unicorn.SetupHandler;
+
+// The handler benchmarks run against the PostgreSQL container from infrastructure/local and
+// read the same SPRING_DATASOURCE_* variables as the Lambda functions. BENCHMARK_ROWS replaces
+// the sample rows with that many synthetic ones.
+public class BenchmarkDatabase {
+
+    private static boolean initialized;
+
+    public static synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+
+        if (System.getenv("SPRING_DATASOURCE_URL") == null) {
+            throw new IllegalStateException(
+                    "SPRING_DATASOURCE_URL is not set, start infrastructure/local/docker-compose.yml first");
+        }
+
+        var rows = System.getenv("BENCHMARK_ROWS");
+        var event = APIGatewayV2HTTPEvent.builder()
+                .withQueryStringParameters(rows == null || rows.isBlank() ? Map.of() : Map.of("rows", rows.trim()))
+                .build();
+
+        var response = new SetupHandler().handleRequest(event, null);
+        if (response.getBody().contains("Error")) {
+            throw new IllegalStateException("Database setup failed: " + response.getBody());
+        }
+
+        initialized = true;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import software.amazon.awscdk.examples.unicorn.index.EmployeeIndex;
+import software.amazon.awscdk.examples.unicorn.model.PageRequest;
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+
+// Point lookups in the primitive keyed index against a HashMap with boxed keys, and a
+// filtered page. The ids are looked up in a fixed pseudo random order.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EmployeeIndexBenchmark {
+
+    @Param({ "1000", "100000" })
+    int rows;
+
+    private EmployeeIndex index;
+
+    private Map<Integer, UnicornEmployee> hashMap;
+
+    private int[] lookups;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<UnicornEmployee> unicornEmployees = SampleUnicorns.create(rows);
+
+        index = new EmployeeIndex(unicornEmployees, true);
+        hashMap = new HashMap<>();
+        for (var unicornEmployee : unicornEmployees) {
+            hashMap.put(unicornEmployee.employeeId(), unicornEmployee);
+        }
+
+        lookups = new int[1024];
+        for (var i = 0; i < lookups.length; i++) {
+            lookups[i] = (int) ((i * 2654435761L) % rows) + 1;
+        }
+    }
+
+    @Benchmark
+    public UnicornEmployee index() {
+        return index.get(lookups[next++ & (lookups.length - 1)]);
+    }
+
+    @Benchmark
+    public UnicornEmployee hashMap() {
+        return hashMap.get(lookups[next++ & (lookups.length - 1)]);
+    }
+
+    @Benchmark
+    public List<UnicornEmployee> filter() {
+        return index.filter("Dublin", "TRUE", new PageRequest(lookups[next++ & (lookups.length - 1)], 10));
+    }
+
+}
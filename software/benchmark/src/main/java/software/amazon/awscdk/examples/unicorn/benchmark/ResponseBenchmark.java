@@ -0,0 +1,101 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.google.gson.Gson;
+
+import software.amazon.awscdk.examples.unicorn.config.UnicornCacheProperties;
+import software.amazon.awscdk.examples.unicorn.config.UnicornCompressionProperties;
+import software.amazon.awscdk.examples.unicorn.config.UnicornIndexProperties;
+import software.amazon.awscdk.examples.unicorn.config.UnicornResponseCacheProperties;
+import software.amazon.awscdk.examples.unicorn.json.GsonUnicornJsonWriter;
+import software.amazon.awscdk.examples.unicorn.json.StreamingUnicornJsonWriter;
+import software.amazon.awscdk.examples.unicorn.json.UnicornJsonWriter;
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+import software.amazon.awscdk.examples.unicorn.repository.UnicornRepository;
+import software.amazon.awscdk.examples.unicorn.response.UnicornResponseFactory;
+import software.amazon.awscdk.examples.unicorn.service.UnicornService;
+
+// Response building without the database: the rows come from memory, so the score covers
+// query string parsing, serialization, ETag hashing and the API Gateway response object.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class ResponseBenchmark {
+
+    @Param({ "streaming", "gson" })
+    String writer;
+
+    @Param({ "false", "true" })
+    boolean responseCache;
+
+    @Param({ "identity", "gzip" })
+    String encoding;
+
+    private UnicornResponseFactory responseFactory;
+
+    private List<UnicornEmployee> unicornEmployees;
+
+    private APIGatewayV2HTTPEvent event;
+
+    @Setup
+    public void setUp() {
+        unicornEmployees = SampleUnicorns.create(10);
+
+        UnicornJsonWriter jsonWriter = "gson".equals(writer)
+                ? new GsonUnicornJsonWriter(new Gson())
+                : new StreamingUnicornJsonWriter();
+        var unicornService = new UnicornService(new UnicornRepository(null),
+                new UnicornCacheProperties(false, null, null), new UnicornIndexProperties(false, 0));
+
+        responseFactory = new UnicornResponseFactory(jsonWriter, unicornService,
+                new UnicornResponseCacheProperties(responseCache, Duration.ofMinutes(5), 256),
+                new UnicornCompressionProperties(!"identity".equals(encoding), 0));
+        event = APIGatewayV2HTTPEvent.builder()
+                .withHeaders(Map.of("Accept-Encoding", encoding))
+                .build();
+    }
+
+    @Benchmark
+    public APIGatewayV2HTTPResponse create() {
+        return responseFactory.create(event, query -> unicornEmployees);
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+
+public class SampleUnicorns {
+
+    private static final String[] LOCATIONS = { "Seattle", "Dublin", "Berlin", "Sydney", "São Paulo" };
+
+    public static List<UnicornEmployee> create(int count) {
+        var unicornEmployees = new ArrayList<UnicornEmployee>(count);
+        for (var i = 1; i <= count; i++) {
+            unicornEmployees.add(new UnicornEmployee(i,
+                    "Unicorn \"" + i + "\"",
+                    LOCATIONS[i % LOCATIONS.length],
+                    i % 2 == 0 ? "F" : "M",
+                    "%d/%d/%02d".formatted(i % 12 + 1, i % 28 + 1, i % 100),
+                    i % 3 == 0 ? "TRUE" : "FALSE"));
+        }
+        return unicornEmployees;
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+
+import software.amazon.awscdk.examples.unicorn.json.StreamingResponseWriter;
+import software.amazon.awscdk.examples.unicorn.json.StreamingUnicornJsonWriter;
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SerializationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    int rows;
+
+    private List<UnicornEmployee> unicornEmployees;
+
+    private final Gson gson = new Gson();
+
+    private final StreamingUnicornJsonWriter streamingWriter = new StreamingUnicornJsonWriter();
+
+    @Setup
+    public void setUp() {
+        unicornEmployees = SampleUnicorns.create(rows);
+    }
+
+    @Benchmark
+    public String gson() {
+        return gson.toJson(unicornEmployees);
+    }
+
+    @Benchmark
+    public String streaming() {
+        return streamingWriter.toJson(unicornEmployees);
+    }
+
+    @Benchmark
+    public byte[] streamingBytes() {
+        return streamingWriter.toJsonBytes(unicornEmployees);
+    }
+
+    // The whole response envelope of StreamingPriming, written to a discarding stream.
+    @Benchmark
+    public int streamingResponse() throws IOException {
+        var writer = new StreamingResponseWriter(OutputStream.nullOutputStream());
+        unicornEmployees.forEach(writer::write);
+        writer.finish();
+        return writer.rows();
+    }
+
+}
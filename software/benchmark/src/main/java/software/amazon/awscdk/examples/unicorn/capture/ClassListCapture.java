@@ -0,0 +1,205 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.capture;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+
+import software.amazon.awscdk.examples.unicorn.simulator.crac.Core;
+
+// Regenerates classes-loaded.txt from what the code actually loads. A handler without class
+// priming goes through init, checkpoint and restore and then serves synthetic requests while
+// JFR records every class load. Both RequestHandler and RequestStreamHandler handlers are
+// supported. The result is merged with the existing list:
+//
+//   java -cp benchmarks.jar software.amazon.awscdk.examples.unicorn.capture.ClassListCapture \
+//       --existing software/priming/src/main/resources/classes-loaded.txt \
+//       --output software/priming/src/main/resources/classes-loaded.txt --requests 50
+public class ClassListCapture {
+
+    private static final String HANDLER_PACKAGE = "software.amazon.awscdk.examples.unicorn.handler.";
+
+    // Plain maps, so that neither the event class nor a JSON library is loaded before the
+    // recorder starts. The event objects and the JSON are built from them while it runs.
+    private static final List<Request> REQUESTS = List.of(
+            new Request(null, null),
+            new Request(Map.of("afterId", "10", "pageSize", "50"), null),
+            new Request(null, Map.of("If-None-Match", "\"0\"")));
+
+    private record Request(Map<String, String> queryStringParameters, Map<String, String> headers) {
+
+        APIGatewayV2HTTPEvent event() {
+            return APIGatewayV2HTTPEvent.builder()
+                    .withQueryStringParameters(queryStringParameters)
+                    .withHeaders(headers)
+                    .build();
+        }
+
+        byte[] json() {
+            var json = new StringBuilder("{");
+            appendObject(json, "queryStringParameters", queryStringParameters);
+            appendObject(json, "headers", headers);
+            return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static void appendObject(StringBuilder json, String name, Map<String, String> values) {
+            if (values == null) {
+                return;
+            }
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendString(json, name).append(":{");
+            var first = true;
+            for (var entry : values.entrySet()) {
+                if (!first) {
+                    json.append(',');
+                }
+                appendString(json, entry.getKey()).append(':');
+                appendString(json, entry.getValue());
+                first = false;
+            }
+            json.append('}');
+        }
+
+        private static StringBuilder appendString(StringBuilder json, String value) {
+            return json.append('"').append(value.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void main(String[] args) throws Exception {
+        var handlerName = "NoPriming";
+        var requests = 50;
+        Path existing = null;
+        var output = Path.of("classes-loaded.txt");
+
+        for (var i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--handler" -> handlerName = args[++i];
+                case "--requests" -> requests = Integer.parseInt(args[++i]);
+                case "--existing" -> existing = Path.of(args[++i]);
+                case "--output" -> output = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        System.setProperty("org.crac.Core.Compat", Core.class.getPackageName());
+
+        List<CapturedClass> capturedClasses;
+        Set<String> loadedBeforeCapture;
+        try (var recorder = new ClassLoadRecorder()) {
+            loadedBeforeCapture = loadedClassNames();
+            recorder.start();
+
+            var handler = Class.forName(HANDLER_PACKAGE + handlerName).getDeclaredConstructor().newInstance();
+            Core.checkpoint();
+            Core.restore();
+
+            for (var i = 0; i < requests; i++) {
+                var request = REQUESTS.get(i % REQUESTS.size());
+                if (handler instanceof RequestHandler<?, ?> requestHandler) {
+                    ((RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>) requestHandler)
+                            .handleRequest(request.event(), null);
+                } else {
+                    ((RequestStreamHandler) handler).handleRequest(new ByteArrayInputStream(request.json()),
+                            new ByteArrayOutputStream(), null);
+                }
+            }
+
+            capturedClasses = recorder.stop();
+        }
+
+        var existingLines = existing != null ? Files.readAllLines(existing) : List.<String>of();
+        var result = ClassListMerger.merge(existingLines, capturedClasses, ClassListCapture::source,
+                className -> loadedBeforeCapture.contains(className) && resolves(className));
+        Files.write(output, result.lines());
+
+        System.out.printf("captured %d classes: kept=%d, added=%d, loaded before the capture=%d, dropped=%d, "
+                + "runtime defined=%d, written to %s%n", capturedClasses.size(), result.kept(), result.added(),
+                result.loadedBeforeCapture(), result.dropped(), result.skipped(), output);
+        System.exit(0);
+    }
+
+    // The classes loaded so far, from the VM.class_hierarchy diagnostic command, which lists them
+    // without loading any. They cannot show up in the recording, so the entries the existing list
+    // has for them are kept.
+    private static Set<String> loadedClassNames() throws JMException {
+        var classHierarchy = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"), "vmClassHierarchy",
+                new Object[] { new String[0] }, new String[] { String[].class.getName() });
+
+        var classNames = new HashSet<String>();
+        for (var line : classHierarchy.split("\n")) {
+            // Lines look like "|  |--java.lang.String/null", the suffix names the class loader.
+            var branch = line.indexOf("--");
+            var start = branch < 0 ? 0 : branch + 2;
+            var end = line.indexOf('/', start);
+            if (end > start) {
+                classNames.add(line.substring(start, end));
+            }
+        }
+        return classNames;
+    }
+
+    // Already loaded, so this only checks that the handler's class loader sees the same class.
+    private static boolean resolves(String className) {
+        try {
+            Class.forName(className, false, ClassListCapture.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError exception) {
+            return false;
+        }
+    }
+
+    // Where the JVM would report the class being loaded from: the jar or directory of its
+    // code source, or the module image for platform classes.
+    static String source(String className) {
+        try {
+            var type = Class.forName(className, false, ClassListCapture.class.getClassLoader());
+            var codeSource = type.getProtectionDomain().getCodeSource();
+            if (codeSource != null && codeSource.getLocation() != null) {
+                return codeSource.getLocation().toString();
+            }
+            if (type.getModule().isNamed()) {
+                return "jrt:/" + type.getModule().getName();
+            }
+        } catch (ClassNotFoundException | LinkageError | SecurityException exception) {
+            return "__unknown__";
+        }
+        return "__unknown__";
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.capture;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import software.amazon.awscdk.examples.unicorn.priming.ClassLoadLogLine;
+
+// Builds a new class list from a capture: every captured class in order of first use, in the
+// -Xlog:class+load format the priming index compiler reads. Sources are taken from the
+// existing list where the class is already known, so entries from the CDS archive keep their
+// "shared objects file" source. Classes of the existing list that were already loaded when the
+// capture started cannot be recorded; they are kept, in their existing order, ahead of the
+// captured ones. The other classes of the existing list that were not loaded during the capture
+// are dropped.
+public class ClassListMerger {
+
+    public record Result(List<String> lines, int kept, int added, int loadedBeforeCapture, int dropped,
+            int skipped) {
+    }
+
+    public static Result merge(List<String> existingLines, List<CapturedClass> capturedClasses,
+            Function<String, String> sourceLookup, Predicate<String> loadedBeforeCapture) {
+        var existingSources = new LinkedHashMap<String, String>();
+        var existingLinesByClass = new HashMap<String, String>();
+        for (var line : existingLines) {
+            var logLine = ClassLoadLogLine.parse(line);
+            if (logLine != null && existingSources.putIfAbsent(logLine.className(), logLine.source()) == null) {
+                existingLinesByClass.put(logLine.className(), line);
+            }
+        }
+
+        var capturedNames = new HashSet<String>();
+        for (var capturedClass : capturedClasses) {
+            capturedNames.add(capturedClass.className());
+        }
+
+        var lines = new ArrayList<String>(existingSources.size() + capturedClasses.size());
+        var captured = new HashSet<String>();
+        var preloaded = 0;
+        for (var className : existingSources.keySet()) {
+            if (!capturedNames.contains(className) && loadedBeforeCapture.test(className)) {
+                captured.add(className);
+                lines.add(existingLinesByClass.get(className));
+                preloaded++;
+            }
+        }
+
+        var kept = 0;
+        var added = 0;
+        var skipped = 0;
+
+        for (var capturedClass : capturedClasses) {
+            var className = capturedClass.className();
+            var existingSource = existingSources.get(className);
+            var source = existingSource != null ? existingSource : sourceLookup.apply(className);
+
+            // Hidden classes and proxies are defined at runtime and cannot be primed by name.
+            if (new ClassLoadLogLine(className, source).isRuntimeDefined()) {
+                skipped++;
+                continue;
+            }
+
+            if (existingSource != null) {
+                kept++;
+            } else {
+                added++;
+            }
+
+            captured.add(className);
+            lines.add(String.format(Locale.ROOT, "[%.3fs][info][class,load] %s source: %s",
+                    capturedClass.firstLoad().toNanos() / 1_000_000_000.0, className, source));
+        }
+
+        var dropped = (int) existingSources.keySet().stream()
+                .filter(className -> !captured.contains(className))
+                .count();
+
+        return new Result(lines, kept, added, preloaded, dropped, skipped);
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.capture;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+// Streams the JFR jdk.ClassLoad events of this JVM and keeps the first load of every class.
+// The event is off in the default JFR settings, it is enabled here without stack traces to
+// keep the recording overhead low.
+public class ClassLoadRecorder implements AutoCloseable {
+
+    private static final String CLASS_LOAD_EVENT = "jdk.ClassLoad";
+
+    // Classes loaded by the recording itself and by the capture tooling, not by the handler.
+    private static final List<String> IGNORED_PREFIXES = List.of(
+            "jdk.jfr.",
+            "software.amazon.awscdk.examples.unicorn.capture.",
+            "software.amazon.awscdk.examples.unicorn.simulator.");
+
+    private final Instant jvmStart = Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+
+    private final Map<String, CapturedClass> classes = new ConcurrentHashMap<>();
+
+    private final RecordingStream recordingStream = new RecordingStream();
+
+    public ClassLoadRecorder() {
+        recordingStream.enable(CLASS_LOAD_EVENT).withoutStackTrace().withThreshold(Duration.ZERO);
+        recordingStream.onEvent(CLASS_LOAD_EVENT, this::onClassLoad);
+    }
+
+    public void start() {
+        recordingStream.startAsync();
+    }
+
+    // Flushes the events still buffered by JFR before returning.
+    public List<CapturedClass> stop() {
+        recordingStream.stop();
+
+        return classes.values().stream()
+                .sorted(Comparator.comparing(CapturedClass::firstLoad))
+                .toList();
+    }
+
+    @Override
+    public void close() {
+        recordingStream.close();
+    }
+
+    private void onClassLoad(RecordedEvent event) {
+        RecordedClass loadedClass = event.getValue("loadedClass");
+        if (loadedClass == null || isIgnored(loadedClass.getName())) {
+            return;
+        }
+
+        var capturedClass = new CapturedClass(loadedClass.getName(), Duration.between(jvmStart, event.getStartTime()));
+        classes.merge(capturedClass.className(), capturedClass,
+                (first, second) -> first.firstLoad().compareTo(second.firstLoad()) <= 0 ? first : second);
+    }
+
+    private static boolean isIgnored(String className) {
+        for (var prefix : IGNORED_PREFIXES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
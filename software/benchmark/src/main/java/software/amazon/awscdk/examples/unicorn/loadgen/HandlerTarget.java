@@ -0,0 +1,112 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.loadgen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.google.gson.Gson;
+
+import software.amazon.awscdk.examples.unicorn.simulator.LifecycleSimulation;
+import software.amazon.awscdk.examples.unicorn.simulator.crac.Core;
+
+// Calls a class of the handler package in this JVM. SnapStart variants go through checkpoint
+// and restore first, like in the SnapStartSimulator, so the load starts on a restored handler.
+final class HandlerTarget implements LoadTarget {
+
+    private static final String HANDLER_PACKAGE = "software.amazon.awscdk.examples.unicorn.handler.";
+
+    private static final String STATUS_CODE = "\"statusCode\":";
+
+    private final RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> requestHandler;
+
+    private final RequestStreamHandler streamHandler;
+
+    private final APIGatewayV2HTTPEvent event;
+
+    private final byte[] eventJson;
+
+    private final double restoreMillis;
+
+    @SuppressWarnings("unchecked")
+    HandlerTarget(String handlerName, Map<String, String> queryStringParameters) throws Exception {
+        var snapStart = !LifecycleSimulation.ON_DEMAND.equals(handlerName);
+        var handler = Class.forName(HANDLER_PACKAGE + (snapStart ? handlerName : "NoPriming"))
+                .getDeclaredConstructor().newInstance();
+
+        if (handler instanceof RequestStreamHandler requestStreamHandler) {
+            this.requestHandler = null;
+            this.streamHandler = requestStreamHandler;
+        } else {
+            this.requestHandler = (RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>) handler;
+            this.streamHandler = null;
+        }
+
+        this.event = APIGatewayV2HTTPEvent.builder()
+                .withQueryStringParameters(queryStringParameters)
+                .build();
+        this.eventJson = new Gson().toJson(Map.of("queryStringParameters", queryStringParameters))
+                .getBytes(StandardCharsets.UTF_8);
+
+        if (snapStart) {
+            Core.checkpoint();
+            var start = System.nanoTime();
+            Core.restore();
+            this.restoreMillis = (System.nanoTime() - start) / 1_000_000.0;
+        } else {
+            this.restoreMillis = 0;
+        }
+    }
+
+    @Override
+    public int send() throws Exception {
+        if (requestHandler != null) {
+            return requestHandler.handleRequest(event, null).getStatusCode();
+        }
+
+        var output = new ByteArrayOutputStream();
+        streamHandler.handleRequest(new ByteArrayInputStream(eventJson), output, null);
+        return statusCode(output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public double restoreMillis() {
+        return restoreMillis;
+    }
+
+    // The streaming handler writes the status code first, so the body does not have to be parsed.
+    private static int statusCode(String response) {
+        var start = response.indexOf(STATUS_CODE);
+        if (start < 0) {
+            return 0;
+        }
+
+        var statusCode = 0;
+        for (var i = start + STATUS_CODE.length(); i < response.length() && Character.isDigit(response.charAt(i)); i++) {
+            statusCode = statusCode * 10 + response.charAt(i) - '0';
+        }
+        return statusCode;
+    }
+
+}
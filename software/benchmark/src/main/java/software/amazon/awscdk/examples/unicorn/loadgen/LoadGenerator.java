@@ -0,0 +1,246 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.loadgen;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import software.amazon.awscdk.examples.unicorn.benchmark.BenchmarkDatabase;
+import software.amazon.awscdk.examples.unicorn.simulator.crac.Core;
+
+// Produces latency distributions for handler variants or a running server and compares them.
+// Handler targets are names from the handler package (OnDemand as in the SnapStartSimulator),
+// anything with a scheme is sent GET requests. Every target runs in a fresh JVM:
+//
+//   java -cp benchmarks.jar software.amazon.awscdk.examples.unicorn.loadgen.LoadGenerator \
+//       --targets NoPriming,InvokePriming,http://localhost:8080/unicorns --rate 200 --duration 60
+//
+//   java -cp benchmarks.jar software.amazon.awscdk.examples.unicorn.loadgen.LoadGenerator \
+//       --compare before/InvokePriming.json,after/InvokePriming.json
+public class LoadGenerator {
+
+    private static final String COMPAT_PROPERTY = "org.crac.Core.Compat";
+
+    private static final String RESULT_PREFIX = "LOAD_RESULT ";
+
+    public static void main(String[] args) throws Exception {
+        var options = Options.parse(args);
+
+        if (!options.compare().isEmpty()) {
+            LoadReport.compare(options.compare(), System.out);
+        } else if (options.child()) {
+            runChild(options);
+        } else {
+            runAll(options);
+        }
+    }
+
+    private static void runChild(Options options) throws Exception {
+        // Must be set before the handler touches org.crac.Core for the first time.
+        System.setProperty(COMPAT_PROPERTY, Core.class.getPackageName());
+
+        var targetName = options.targets().getFirst();
+        var startMillis = System.currentTimeMillis();
+        try (var target = isUrl(targetName)
+                ? new HttpTarget(targetName, options.query())
+                : new HandlerTarget(targetName, options.query())) {
+            var outcome = new LoadRun(target, options.mode(), options.rate(), options.concurrency(),
+                    options.warmupSeconds(), options.durationSeconds()).run();
+
+            var processors = isUrl(targetName) && options.serverCores() > 0
+                    ? options.serverCores()
+                    : Runtime.getRuntime().availableProcessors();
+            var result = new LoadResult(targetName, options.mode().name().toLowerCase(Locale.ROOT), options.rate(),
+                    options.concurrency(), outcome.durationSeconds(), outcome.requests(), outcome.errors(),
+                    processors, target.restoreMillis(), outcome.firstMillis(), outcome.firstStatus(),
+                    LoadReport.fileName(targetName) + ".hlog");
+
+            var resultFile = LoadReport.write(options.output(), result, outcome, startMillis);
+            System.out.println(RESULT_PREFIX + resultFile);
+        }
+        System.exit(0);
+    }
+
+    private static void runAll(Options options) throws IOException, InterruptedException {
+        if (options.targets().stream().anyMatch(target -> !isUrl(target))) {
+            BenchmarkDatabase.initialize();
+        }
+
+        var resultFiles = new ArrayList<Path>();
+        for (var target : options.targets()) {
+            System.out.printf("%s: %s for %ds after %ds of warm-up%n", target, describe(options),
+                    options.durationSeconds(), options.warmupSeconds());
+            resultFiles.add(fork(target, options));
+        }
+
+        System.out.println();
+        LoadReport.compare(resultFiles, System.out);
+
+        var comparison = options.output().resolve("comparison.txt");
+        try (var out = new PrintStream(comparison.toFile())) {
+            LoadReport.compare(resultFiles, out);
+        }
+        System.out.printf("%npercentile tables and histogram logs are in %s%n", options.output());
+    }
+
+    private static Path fork(String target, Options options) throws IOException, InterruptedException {
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options.jvmArgs());
+        command.add("-D" + COMPAT_PROPERTY + "=" + Core.class.getPackageName());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadGenerator.class.getName());
+        command.add("--child");
+        command.addAll(options.childArguments(target));
+
+        var process = new ProcessBuilder(command)
+                .redirectError(options.verbose() ? ProcessBuilder.Redirect.INHERIT : ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        Path resultFile = null;
+        try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    resultFile = Path.of(line.substring(RESULT_PREFIX.length()));
+                } else if (options.verbose()) {
+                    System.out.println(line);
+                }
+            }
+        }
+
+        var exitCode = process.waitFor();
+        if (exitCode != 0 || resultFile == null || !Files.exists(resultFile)) {
+            throw new IllegalStateException("Load run against " + target + " failed with exit code " + exitCode
+                    + ", rerun with --verbose for the target output");
+        }
+        return resultFile;
+    }
+
+    private static boolean isUrl(String target) {
+        return target.contains("://");
+    }
+
+    private static String describe(Options options) {
+        return options.mode() == LoadRun.Mode.RATE
+                ? "%s requests/s on %d worker(s)".formatted(options.rate(), options.concurrency())
+                : "%d concurrent worker(s)".formatted(options.concurrency());
+    }
+
+    record Options(List<String> targets, LoadRun.Mode mode, double rate, int concurrency, long durationSeconds,
+            long warmupSeconds, Map<String, String> query, Path output, int serverCores, List<String> jvmArgs,
+            boolean verbose, boolean child, List<Path> compare) {
+
+        static Options parse(String[] args) {
+            var targets = List.of("InvokePriming");
+            var mode = LoadRun.Mode.RATE;
+            var rate = 100.0;
+            var concurrency = 4;
+            var durationSeconds = 30L;
+            var warmupSeconds = 0L;
+            var query = new LinkedHashMap<String, String>();
+            var output = Path.of("target", "loadgen");
+            var serverCores = 0;
+            var jvmArgs = new ArrayList<String>();
+            var verbose = false;
+            var child = false;
+            var compare = new ArrayList<Path>();
+
+            for (var i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--targets" -> targets = List.of(args[++i].split(","));
+                    case "--mode" -> mode = LoadRun.Mode.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                    case "--rate" -> rate = Double.parseDouble(args[++i]);
+                    case "--concurrency" -> concurrency = Integer.parseInt(args[++i]);
+                    case "--duration" -> durationSeconds = Long.parseLong(args[++i]);
+                    case "--warmup" -> warmupSeconds = Long.parseLong(args[++i]);
+                    case "--query" -> query.putAll(parseQuery(args[++i]));
+                    case "--output" -> output = Path.of(args[++i]);
+                    case "--server-cores" -> serverCores = Integer.parseInt(args[++i]);
+                    case "--jvm-arg" -> jvmArgs.add(args[++i]);
+                    case "--verbose" -> verbose = true;
+                    case "--child" -> child = true;
+                    case "--compare" -> {
+                        for (var resultFile : args[++i].split(",")) {
+                            compare.add(Path.of(resultFile));
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+
+            if (concurrency < 1 || durationSeconds < 1 || warmupSeconds < 0) {
+                throw new IllegalArgumentException(
+                        "--concurrency and --duration must be at least 1, --warmup must not be negative");
+            }
+            if (mode == LoadRun.Mode.RATE && rate <= 0) {
+                throw new IllegalArgumentException("--rate must be positive");
+            }
+
+            return new Options(targets, mode, rate, concurrency, durationSeconds, warmupSeconds, query, output,
+                    serverCores, jvmArgs, verbose, child, compare);
+        }
+
+        List<String> childArguments(String target) {
+            var arguments = new ArrayList<>(List.of("--targets", target,
+                    "--mode", mode.name().toLowerCase(Locale.ROOT),
+                    "--rate", String.valueOf(rate),
+                    "--concurrency", String.valueOf(concurrency),
+                    "--duration", String.valueOf(durationSeconds),
+                    "--warmup", String.valueOf(warmupSeconds),
+                    "--output", output.toString(),
+                    "--server-cores", String.valueOf(serverCores)));
+            if (!query.isEmpty()) {
+                var queryString = new StringBuilder();
+                query.forEach((key, value) -> queryString.append(queryString.isEmpty() ? "" : "&")
+                        .append(key).append('=').append(value));
+                arguments.add("--query");
+                arguments.add(queryString.toString());
+            }
+            return arguments;
+        }
+
+        private static Map<String, String> parseQuery(String query) {
+            var parameters = new LinkedHashMap<String, String>();
+            for (var parameter : query.split("&")) {
+                if (parameter.isEmpty()) {
+                    continue;
+                }
+                var separator = parameter.indexOf('=');
+                if (separator < 0) {
+                    parameters.put(parameter, "");
+                } else {
+                    parameters.put(parameter.substring(0, separator), parameter.substring(separator + 1));
+                }
+            }
+            return parameters;
+        }
+
+    }
+
+}
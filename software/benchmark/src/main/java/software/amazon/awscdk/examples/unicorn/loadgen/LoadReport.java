@@ -0,0 +1,169 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.loadgen;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.HdrHistogram.HistogramLogWriter;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+// Files of a run, all named after the target:
+//   <target>.hlog  HdrHistogram log with the "response" and "service" histograms, in microseconds
+//   <target>.hgrm  percentile distribution of the response times in milliseconds, the format
+//                  the HdrHistogram plotter reads
+//   <target>.json  the LoadResult
+// The comparison report is built from the .json and .hlog files, so runs made at different times
+// can be compared later.
+final class LoadReport {
+
+    static final String RESPONSE_TAG = "response";
+
+    static final String SERVICE_TAG = "service";
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9, 99.99 };
+
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    private LoadReport() {
+    }
+
+    static Path write(Path directory, LoadResult result, LoadRun.Outcome outcome, long startMillis)
+            throws IOException {
+        Files.createDirectories(directory);
+        var name = fileName(result.target());
+
+        var responseTimes = outcome.responseTimes();
+        var serviceTimes = outcome.serviceTimes();
+        var endMillis = startMillis + (long) (result.durationSeconds() * 1000);
+        for (var histogram : List.of(responseTimes, serviceTimes)) {
+            histogram.setStartTimeStamp(startMillis);
+            histogram.setEndTimeStamp(endMillis);
+        }
+        responseTimes.setTag(RESPONSE_TAG);
+        serviceTimes.setTag(SERVICE_TAG);
+
+        var histogramLogWriter = new HistogramLogWriter(directory.resolve(name + ".hlog").toFile());
+        try {
+            histogramLogWriter.outputComment("target=" + result.target() + ", mode=" + result.mode());
+            histogramLogWriter.outputLogFormatVersion();
+            histogramLogWriter.outputStartTime(startMillis);
+            histogramLogWriter.outputLegend();
+            histogramLogWriter.outputIntervalHistogram(responseTimes);
+            histogramLogWriter.outputIntervalHistogram(serviceTimes);
+        } finally {
+            histogramLogWriter.close();
+        }
+
+        try (var percentiles = new PrintStream(directory.resolve(name + ".hgrm").toFile())) {
+            responseTimes.outputPercentileDistribution(percentiles, MICROS_PER_MILLI);
+        }
+
+        var resultFile = directory.resolve(name + ".json");
+        Files.writeString(resultFile, gson.toJson(result));
+        return resultFile;
+    }
+
+    static LoadResult read(Path resultFile) throws IOException {
+        return gson.fromJson(Files.readString(resultFile), LoadResult.class);
+    }
+
+    // The first result is the baseline of the last column.
+    static void compare(List<Path> resultFiles, PrintStream out) throws IOException {
+        var rows = new ArrayList<Row>();
+        for (var resultFile : resultFiles) {
+            var result = read(resultFile);
+            var histogramLog = resultFile.resolveSibling(result.histogramLog());
+            rows.add(new Row(result, histogram(histogramLog, RESPONSE_TAG), histogram(histogramLog, SERVICE_TAG)));
+        }
+
+        var targetWidth = rows.stream().mapToInt(row -> row.result().target().length()).max().orElse(0);
+        var targetColumn = "%-" + Math.max(6, targetWidth) + "s";
+        out.printf(targetColumn + " %-12s %9s %10s %7s %9s %9s %6s", "target", "mode", "req/s", "req/s/core",
+                "errors", "restore", "first", "status");
+        for (var percentile : PERCENTILES) {
+            out.printf(" %9s", "p" + format(percentile));
+        }
+        out.printf(" %9s %9s %12s%n", "max", "svc p99", "p99 vs first");
+
+        var baseline = rows.isEmpty() ? 0 : rows.getFirst().responseTimes().getValueAtPercentile(99);
+        for (var row : rows) {
+            var result = row.result();
+            var responseTimes = row.responseTimes();
+            out.printf(targetColumn + " %-12s %9.1f %10.1f %7d %9.1f %9.1f %6d", result.target(), mode(result),
+                    result.throughput(), result.throughputPerCore(), result.errors(), result.restoreMillis(),
+                    result.firstMillis(), result.firstStatus());
+            for (var percentile : PERCENTILES) {
+                out.printf(" %9.2f", responseTimes.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+            }
+            out.printf(" %9.2f %9.2f %11.2fx%n",
+                    responseTimes.getMaxValue() / MICROS_PER_MILLI,
+                    row.serviceTimes().getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    baseline > 0 ? (double) responseTimes.getValueAtPercentile(99) / baseline : 0);
+        }
+
+        out.printf("%nlatencies in milliseconds, measured from the intended start in rate mode;"
+                + " svc p99 is measured from the actual send%n");
+    }
+
+    static String fileName(String target) {
+        return target.replaceAll("^[a-z]+://", "").replaceAll("[^A-Za-z0-9._-]+", "-").replaceAll("^-|-$", "");
+    }
+
+    private static AbstractHistogram histogram(Path histogramLog, String tag) throws FileNotFoundException {
+        var histogramLogReader = new HistogramLogReader(histogramLog.toFile());
+        try {
+            while (true) {
+                var histogram = histogramLogReader.nextIntervalHistogram();
+                if (histogram == null) {
+                    throw new IllegalStateException("No " + tag + " histogram in " + histogramLog);
+                }
+                if (tag.equals(histogram.getTag())) {
+                    return (AbstractHistogram) histogram;
+                }
+            }
+        } finally {
+            histogramLogReader.close();
+        }
+    }
+
+    private static String mode(LoadResult result) {
+        return "rate".equals(result.mode())
+                ? format(result.rate()) + "/s x" + result.concurrency()
+                : "x" + result.concurrency();
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    private record Row(LoadResult result, AbstractHistogram responseTimes, AbstractHistogram serviceTimes) {
+    }
+
+}
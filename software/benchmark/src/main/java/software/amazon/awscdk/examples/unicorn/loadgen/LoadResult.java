@@ -0,0 +1,45 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.loadgen;
+
+// Summary of one load run. The latency distributions are in the HdrHistogram log next to it.
+public record LoadResult(
+        String target,
+        String mode,
+        double rate,
+        int concurrency,
+        double durationSeconds,
+        long requests,
+        long errors,
+        int processors,
+        double restoreMillis,
+        double firstMillis,
+        int firstStatus,
+        String histogramLog) {
+
+    public double throughput() {
+        return durationSeconds > 0 ? requests / durationSeconds : 0;
+    }
+
+    // processors is the core count of the JVM that ran an in-process handler, or --server-cores
+    // for a server.
+    public double throughputPerCore() {
+        return processors > 0 ? throughput() / processors : 0;
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.loadgen;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+
+// Drives a target with a fixed number of worker threads, either at a fixed rate or back to back.
+//
+// At a fixed rate every request has an intended start time on a fixed schedule. The response
+// time is measured from that intended time, not from the moment the request was sent, so a
+// stall delays the requests behind it and shows up in their latencies as well, instead of being
+// hidden by the requests that were never sent while the worker waited (coordinated omission).
+// The service time, measured from the actual send, is kept in a second histogram.
+//
+// At a fixed concurrency each worker sends its next request as soon as the previous one is
+// answered, so there is no schedule and both histograms hold the service time.
+final class LoadRun {
+
+    enum Mode {
+        RATE, CONCURRENCY
+    }
+
+    record Outcome(Histogram responseTimes, Histogram serviceTimes, long requests, long errors,
+            double firstMillis, int firstStatus, double durationSeconds) {
+    }
+
+    private final LoadTarget target;
+
+    private final Mode mode;
+
+    private final double rate;
+
+    private final int concurrency;
+
+    private final long warmupNanos;
+
+    private final long durationNanos;
+
+    LoadRun(LoadTarget target, Mode mode, double rate, int concurrency, long warmupSeconds, long durationSeconds) {
+        this.target = target;
+        this.mode = mode;
+        this.rate = rate;
+        this.concurrency = concurrency;
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(warmupSeconds);
+        this.durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+    }
+
+    Outcome run() throws InterruptedException {
+        // The first request after a restore carries the restore tail, it is reported on its own
+        // and counted in neither the requests nor the errors.
+        var firstStart = System.nanoTime();
+        var firstStatus = send();
+        var firstMillis = (System.nanoTime() - firstStart) / 1_000_000.0;
+
+        var start = System.nanoTime();
+        var measureFrom = start + warmupNanos;
+        var end = measureFrom + durationNanos;
+
+        var workers = new ArrayList<Worker>(concurrency);
+        var threads = new ArrayList<Thread>(concurrency);
+        for (var i = 0; i < concurrency; i++) {
+            var worker = new Worker(i, start, measureFrom, end);
+            workers.add(worker);
+            threads.add(Thread.ofPlatform().name("loadgen-worker-" + i).start(worker));
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        var responseTimes = new Histogram(3);
+        var serviceTimes = new Histogram(3);
+        var requests = 0L;
+        var errors = 0L;
+        for (var worker : workers) {
+            responseTimes.add(worker.responseTimes);
+            serviceTimes.add(worker.serviceTimes);
+            requests += worker.requests;
+            errors += worker.errors;
+        }
+
+        return new Outcome(responseTimes, serviceTimes, requests, errors, firstMillis, firstStatus,
+                (end - measureFrom) / 1_000_000_000.0);
+    }
+
+    // Exceptions count as errors and are reported with status 0.
+    private int send() {
+        try {
+            return target.send();
+        } catch (Exception exception) {
+            return 0;
+        }
+    }
+
+    // 304 is the expected answer to a conditional request.
+    private static boolean isError(int status) {
+        return status != 200 && status != 304;
+    }
+
+    private final class Worker implements Runnable {
+
+        private final Histogram responseTimes = new Histogram(3);
+
+        private final Histogram serviceTimes = new Histogram(3);
+
+        private final long measureFrom;
+
+        private final long end;
+
+        private final long interval;
+
+        private long requests;
+
+        private long errors;
+
+        private long intended;
+
+        Worker(int index, long start, long measureFrom, long end) {
+            this.measureFrom = measureFrom;
+            this.end = end;
+            // Each worker owns every concurrency-th slot of the overall schedule.
+            var slot = mode == Mode.RATE ? (long) (1_000_000_000L / rate) : 0;
+            this.interval = slot * concurrency;
+            this.intended = start + slot * index;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                if (mode == Mode.RATE) {
+                    waitUntil(intended);
+                } else {
+                    intended = System.nanoTime();
+                }
+                if (intended >= end) {
+                    break;
+                }
+
+                var sent = System.nanoTime();
+                var status = send();
+                var done = System.nanoTime();
+
+                if (intended >= measureFrom) {
+                    responseTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(done - intended));
+                    serviceTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(done - sent));
+                    requests++;
+                    if (isError(status)) {
+                        errors++;
+                    }
+                }
+
+                intended += interval;
+            }
+        }
+
+        // A late worker does not wait: the next request is already overdue.
+        private void waitUntil(long deadline) {
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+
+    }
+
+}
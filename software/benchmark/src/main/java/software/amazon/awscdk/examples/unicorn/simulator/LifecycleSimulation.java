@@ -0,0 +1,96 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.simulator;
+
+import java.util.Arrays;
+
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+
+import software.amazon.awscdk.examples.unicorn.simulator.crac.Core;
+
+// Runs one handler through the lifecycle of a Lambda execution environment inside this JVM:
+// init, checkpoint and restore through the registered org.crac resources, then the requests.
+public class LifecycleSimulation {
+
+    public static final String ON_DEMAND = "OnDemand";
+
+    private static final String HANDLER_PACKAGE = "software.amazon.awscdk.examples.unicorn.handler.";
+
+    private final String handlerName;
+
+    private final int invocations;
+
+    public LifecycleSimulation(String handlerName, int invocations) {
+        this.handlerName = handlerName;
+        this.invocations = invocations;
+    }
+
+    @SuppressWarnings("unchecked")
+    public SimulationResult run() throws Exception {
+        var snapStart = !ON_DEMAND.equals(handlerName);
+        var handlerClass = Class.forName(HANDLER_PACKAGE + (snapStart ? handlerName : "NoPriming"));
+
+        var start = System.nanoTime();
+        var handler = (RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>) handlerClass
+                .getDeclaredConstructor().newInstance();
+        var initMillis = millisSince(start);
+
+        var checkpointMillis = 0.0;
+        var restoreMillis = 0.0;
+        if (snapStart) {
+            start = System.nanoTime();
+            Core.checkpoint();
+            checkpointMillis = millisSince(start);
+
+            start = System.nanoTime();
+            Core.restore();
+            restoreMillis = millisSince(start);
+        }
+
+        var event = APIGatewayV2HTTPEvent.builder().build();
+        var latencies = new double[invocations];
+        for (var i = 0; i < invocations; i++) {
+            start = System.nanoTime();
+            var response = handler.handleRequest(event, null);
+            latencies[i] = millisSince(start);
+
+            if (response.getStatusCode() != 200) {
+                throw new IllegalStateException(
+                        "Invocation " + i + " failed with status " + response.getStatusCode());
+            }
+        }
+
+        var firstInvokeMillis = latencies.length > 0 ? latencies[0] : 0;
+        Arrays.sort(latencies);
+
+        return new SimulationResult(handlerName, snapStart, initMillis, checkpointMillis, restoreMillis,
+                firstInvokeMillis,
+                SimulationResult.percentile(latencies, 50),
+                SimulationResult.percentile(latencies, 90),
+                SimulationResult.percentile(latencies, 99),
+                latencies.length > 0 ? latencies[latencies.length - 1] : 0,
+                invocations);
+    }
+
+    private static double millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+}
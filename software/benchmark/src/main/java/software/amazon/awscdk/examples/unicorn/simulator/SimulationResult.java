@@ -0,0 +1,76 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.simulator;
+
+import java.util.Arrays;
+import java.util.List;
+
+public record SimulationResult(
+        String handler,
+        boolean snapStart,
+        double initMillis,
+        double checkpointMillis,
+        double restoreMillis,
+        double firstInvokeMillis,
+        double p50Millis,
+        double p90Millis,
+        double p99Millis,
+        double maxMillis,
+        int invocations) {
+
+    // What a caller waits for on a cold request: the init phase for on-demand functions, the
+    // restore phase for SnapStart functions, plus the first invocation in both cases.
+    public double coldStartMillis() {
+        return (snapStart ? restoreMillis : initMillis) + firstInvokeMillis;
+    }
+
+    public static double percentile(double[] sortedValues, double percentile) {
+        if (sortedValues.length == 0) {
+            return 0;
+        }
+
+        var rank = (int) Math.ceil(percentile / 100 * sortedValues.length);
+        return sortedValues[Math.max(0, Math.min(sortedValues.length, rank) - 1)];
+    }
+
+    // Median of each metric over repeated runs of the same handler.
+    public static SimulationResult median(List<SimulationResult> runs) {
+        var first = runs.getFirst();
+        return new SimulationResult(first.handler(), first.snapStart(),
+                median(runs, SimulationResult::initMillis),
+                median(runs, SimulationResult::checkpointMillis),
+                median(runs, SimulationResult::restoreMillis),
+                median(runs, SimulationResult::firstInvokeMillis),
+                median(runs, SimulationResult::p50Millis),
+                median(runs, SimulationResult::p90Millis),
+                median(runs, SimulationResult::p99Millis),
+                median(runs, SimulationResult::maxMillis),
+                first.invocations());
+    }
+
+    private static double median(List<SimulationResult> runs, Metric metric) {
+        var values = runs.stream().mapToDouble(metric::value).toArray();
+        Arrays.sort(values);
+        return percentile(values, 50);
+    }
+
+    private interface Metric {
+        double value(SimulationResult result);
+    }
+
+}
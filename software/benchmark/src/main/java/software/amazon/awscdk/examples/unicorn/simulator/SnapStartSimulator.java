@@ -0,0 +1,171 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.simulator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import com.google.gson.Gson;
+
+import software.amazon.awscdk.examples.unicorn.benchmark.BenchmarkDatabase;
+import software.amazon.awscdk.examples.unicorn.simulator.crac.Core;
+
+// Ranks the priming variants on a plain JVM. Every run of every handler gets a fresh JVM, so
+// class loading and JIT state never leak from one variant into the next:
+//
+//   java -cp benchmarks.jar software.amazon.awscdk.examples.unicorn.simulator.SnapStartSimulator \
+//       --handlers OnDemand,NoPriming,InvokePriming,ClassPriming --invocations 100 --runs 5
+public class SnapStartSimulator {
+
+    private static final String COMPAT_PROPERTY = "org.crac.Core.Compat";
+
+    private static final String RESULT_PREFIX = "SIMULATION_RESULT ";
+
+    private static final Gson gson = new Gson();
+
+    public static void main(String[] args) throws Exception {
+        var options = Options.parse(args);
+
+        if (options.child()) {
+            runChild(options);
+        } else {
+            runAll(options);
+        }
+    }
+
+    private static void runChild(Options options) throws Exception {
+        // Must be set before the handler touches org.crac.Core for the first time.
+        System.setProperty(COMPAT_PROPERTY, Core.class.getPackageName());
+
+        var result = new LifecycleSimulation(options.handlers().getFirst(), options.invocations()).run();
+        System.out.println(RESULT_PREFIX + gson.toJson(result));
+        System.exit(0);
+    }
+
+    private static void runAll(Options options) throws IOException, InterruptedException {
+        BenchmarkDatabase.initialize();
+
+        var results = new LinkedHashMap<String, List<SimulationResult>>();
+        for (var run = 1; run <= options.runs(); run++) {
+            for (var handler : options.handlers()) {
+                System.out.printf("run %d/%d: %s%n", run, options.runs(), handler);
+                results.computeIfAbsent(handler, key -> new ArrayList<>()).add(fork(handler, options));
+            }
+        }
+
+        var medians = results.values().stream()
+                .map(SimulationResult::median)
+                .sorted(Comparator.comparingDouble(SimulationResult::coldStartMillis))
+                .toList();
+
+        print(medians, options);
+    }
+
+    private static SimulationResult fork(String handler, Options options) throws IOException, InterruptedException {
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options.jvmArgs());
+        command.add("-D" + COMPAT_PROPERTY + "=" + Core.class.getPackageName());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(SnapStartSimulator.class.getName());
+        command.add("--child");
+        command.add("--handlers");
+        command.add(handler);
+        command.add("--invocations");
+        command.add(String.valueOf(options.invocations()));
+
+        var process = new ProcessBuilder(command)
+                .redirectError(options.verbose() ? ProcessBuilder.Redirect.INHERIT : ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        SimulationResult result = null;
+        try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    result = gson.fromJson(line.substring(RESULT_PREFIX.length()), SimulationResult.class);
+                } else if (options.verbose()) {
+                    System.out.println(line);
+                }
+            }
+        }
+
+        var exitCode = process.waitFor();
+        if (exitCode != 0 || result == null) {
+            throw new IllegalStateException("Simulation of " + handler + " failed with exit code " + exitCode
+                    + ", rerun with --verbose for the handler output");
+        }
+        return result;
+    }
+
+    private static void print(List<SimulationResult> results, Options options) {
+        System.out.printf("%nmedian of %d run(s), %d invocation(s) each, ranked by cold start%n%n",
+                options.runs(), options.invocations());
+        System.out.printf("%-20s %10s %12s %10s %12s %12s %10s %10s %10s %10s%n",
+                "handler", "init", "checkpoint", "restore", "first", "cold start", "p50", "p90", "p99", "max");
+
+        for (var result : results) {
+            System.out.printf("%-20s %10.1f %12.1f %10.1f %12.1f %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    result.handler(), result.initMillis(), result.checkpointMillis(), result.restoreMillis(),
+                    result.firstInvokeMillis(), result.coldStartMillis(),
+                    result.p50Millis(), result.p90Millis(), result.p99Millis(), result.maxMillis());
+        }
+
+        System.out.printf("%nall times in milliseconds%n");
+    }
+
+    record Options(List<String> handlers, int invocations, int runs, List<String> jvmArgs, boolean verbose,
+            boolean child) {
+
+        static Options parse(String[] args) {
+            var handlers = List.of(LifecycleSimulation.ON_DEMAND, "NoPriming", "InvokePriming", "ClassPriming");
+            var invocations = 100;
+            var runs = 1;
+            var jvmArgs = new ArrayList<String>();
+            var verbose = false;
+            var child = false;
+
+            for (var i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--handlers" -> handlers = List.of(args[++i].split(","));
+                    case "--invocations" -> invocations = Integer.parseInt(args[++i]);
+                    case "--runs" -> runs = Integer.parseInt(args[++i]);
+                    case "--jvm-arg" -> jvmArgs.add(args[++i]);
+                    case "--verbose" -> verbose = true;
+                    case "--child" -> child = true;
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+
+            if (invocations < 1 || runs < 1) {
+                throw new IllegalArgumentException("--invocations and --runs must be at least 1");
+            }
+
+            return new Options(handlers, invocations, runs, jvmArgs, verbose, child);
+        }
+
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.simulator.crac;
+
+// org.crac looks up this package when the JVM runs with
+// -Dorg.crac.Core.Compat=software.amazon.awscdk.examples.unicorn.simulator.crac and routes
+// Core.getGlobalContext().register(...) here. The simulator drives the two halves of
+// checkpointRestore() on its own so it can time them separately.
+public class Core {
+
+    private static final GlobalContext globalContext = new GlobalContext();
+
+    public static GlobalContext getGlobalContext() {
+        return globalContext;
+    }
+
+    public static void checkpointRestore() throws CheckpointException, RestoreException {
+        checkpoint();
+        restore();
+    }
+
+    public static void checkpoint() throws CheckpointException {
+        globalContext.beforeCheckpoint(null);
+    }
+
+    public static void restore() throws RestoreException {
+        globalContext.afterRestore(null);
+    }
+
+}
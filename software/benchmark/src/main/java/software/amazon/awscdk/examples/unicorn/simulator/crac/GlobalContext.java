@@ -0,0 +1,74 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.simulator.crac;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Same ordering as the JDK global context: checkpoint notifications run in reverse order of
+// registration and restore notifications in registration order.
+public class GlobalContext extends Context<Resource> {
+
+    private final List<Resource> resources = new ArrayList<>();
+
+    @Override
+    public synchronized void register(Resource resource) {
+        resources.add(resource);
+    }
+
+    public synchronized int size() {
+        return resources.size();
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) throws CheckpointException {
+        var exception = new CheckpointException();
+        for (var resource : snapshot().reversed()) {
+            try {
+                resource.beforeCheckpoint(this);
+            } catch (Exception suppressed) {
+                exception.addSuppressed(suppressed);
+            }
+        }
+
+        if (exception.getSuppressed().length > 0) {
+            throw exception;
+        }
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) throws RestoreException {
+        var exception = new RestoreException();
+        for (var resource : snapshot()) {
+            try {
+                resource.afterRestore(this);
+            } catch (Exception suppressed) {
+                exception.addSuppressed(suppressed);
+            }
+        }
+
+        if (exception.getSuppressed().length > 0) {
+            throw exception;
+        }
+    }
+
+    private synchronized List<Resource> snapshot() {
+        return List.copyOf(resources);
+    }
+
+}
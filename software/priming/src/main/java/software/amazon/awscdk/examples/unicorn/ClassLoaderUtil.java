@@ -5,12 +5,21 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import software.amazon.awscdk.examples.unicorn.handler.ClassPriming;
+import software.amazon.awscdk.examples.unicorn.priming.PrimingIndex;
 
 public class ClassLoaderUtil {
 
@@ -59,4 +68,94 @@ public class ClassLoaderUtil {
         }
     }
 
+    public static void loadClassesFromIndex(boolean parallel) {
+        log.info("loadClassesFromIndex->started");
+
+        try {
+            var primingIndex = PrimingIndex.open();
+
+            if (parallel) {
+                var classNames = new ArrayList<String>(primingIndex.entryCount());
+                var skipped = primingIndex.forEachPrimable(classNames::add);
+                log.info("loadClassesFromIndex: entries={}, skipped={}", primingIndex.entryCount(), skipped);
+
+                loadClassesInParallel(classNames, parallelism());
+            } else {
+                var classLoader = ClassPriming.class.getClassLoader();
+                var failures = new ArrayList<String>();
+                var skipped = primingIndex.forEachPrimable(className -> {
+                    try {
+                        Class.forName(className, true, classLoader);
+                    } catch (Throwable throwable) {
+                        failures.add(className);
+                    }
+                });
+
+                log.info("loadClassesFromIndex: entries={}, skipped={}, failed={}",
+                        primingIndex.entryCount(), skipped, failures.size());
+                log.debug("loadClassesFromIndex: failed classes {}", failures);
+            }
+
+            log.info("loadClassesFromIndex->finished");
+        } catch (IOException | IllegalStateException exception) {
+            log.error("Error on loading priming index", exception);
+        }
+    }
+
+    static void loadClassesInParallel(Collection<String> classNames, int parallelism) {
+        var classLoader = ClassPriming.class.getClassLoader();
+        var pool = new ForkJoinPool(parallelism);
+        var failures = new AtomicInteger();
+
+        try {
+            // Loading does not run static initializers, so it can be spread freely: the JVM loads
+            // superclasses and interfaces before their subtypes.
+            List<Class<?>> loaded = pool.submit(() -> classNames.parallelStream()
+                    .map(className -> {
+                        try {
+                            return Class.forName(className, false, classLoader);
+                        } catch (Throwable throwable) {
+                            failures.incrementAndGet();
+                            return null;
+                        }
+                    })
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.<Class<?>>toList()))
+                    .join();
+
+            // Initializers stay on this thread, in the recorded order. Run concurrently, two
+            // initializers that reach each other's class wait on each other's init lock forever.
+            for (var type : loaded) {
+                try {
+                    Class.forName(type.getName(), true, classLoader);
+                } catch (Throwable throwable) {
+                    failures.incrementAndGet();
+                }
+            }
+
+            log.info("loadClassesInParallel: requested={}, loaded={}, failed={}, parallelism={}",
+                    classNames.size(), loaded.size(), failures.get(), parallelism);
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static int parallelism() {
+        var parallelism = System.getenv("CLASS_PRIMING_PARALLELISM");
+        if (parallelism == null || parallelism.isBlank()) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            return Math.max(1, Integer.parseInt(parallelism.trim()));
+        } catch (NumberFormatException exception) {
+            log.warn("CLASS_PRIMING_PARALLELISM is not a number: {}, using the available processors", parallelism);
+            return Runtime.getRuntime().availableProcessors();
+        }
+    }
+
 }
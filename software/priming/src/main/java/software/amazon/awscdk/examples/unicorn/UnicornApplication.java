@@ -17,13 +17,19 @@
  */
 package software.amazon.awscdk.examples.unicorn;
 
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Import;
 
 import software.amazon.awscdk.examples.unicorn.config.UnicornConfig;
+import software.amazon.awscdk.examples.unicorn.metrics.StartupTimeline;
+import software.amazon.awscdk.examples.unicorn.metrics.TimelineApplicationStartup;
 
 @Import({ UnicornConfig.class })
 @SpringBootApplication
@@ -31,9 +37,32 @@ public class UnicornApplication {
 
     private static final Logger log = LoggerFactory.getLogger(UnicornApplication.class);
 
+    private static final String SERVERLESS_WEB_AUTO_CONFIGURATION =
+            "org.springframework.cloud.function.serverless.web.ServerlessAutoConfiguration";
+
+    public static ConfigurableApplicationContext start(String... arguments) {
+        StartupTimeline.registerLifecycleResource();
+
+        var springApplication = new SpringApplication(UnicornApplication.class);
+        springApplication.setApplicationStartup(new TimelineApplicationStartup());
+        // The handlers are plain RequestHandlers, nothing in them needs the servlet stack, and
+        // the serverless web auto-configuration assumes a servlet context. The main class is set
+        // explicitly because there is no main method on the stack inside Lambda, and AOT mode
+        // looks up the generated initializer by the main class name. The server profile sets
+        // spring.main.web-application-type, which takes precedence over the type set here.
+        springApplication.setWebApplicationType(WebApplicationType.NONE);
+        springApplication.setDefaultProperties(Map.of("spring.autoconfigure.exclude", SERVERLESS_WEB_AUTO_CONFIGURATION));
+        springApplication.setMainApplicationClass(UnicornApplication.class);
+        var configurableApplicationContext = springApplication.run(arguments);
+
+        StartupTimeline.registerRestoreMarker();
+
+        return configurableApplicationContext;
+    }
+
     public static void main(String... arguments) {
         log.info("main->started");
-        SpringApplication.run(UnicornApplication.class, arguments);
+        start(arguments);
         log.info("main->finished");
     }
 
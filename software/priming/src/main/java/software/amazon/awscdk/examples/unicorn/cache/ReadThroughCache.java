@@ -0,0 +1,126 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ReadThroughCache<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadThroughCache.class);
+
+    private final String name;
+
+    private final Supplier<T> loader;
+
+    private final long ttlNanos;
+
+    private final long maxStalenessNanos;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Entry<T> entry;
+
+    public ReadThroughCache(String name, Supplier<T> loader, Duration ttl, Duration maxStaleness) {
+        this.name = name;
+        this.loader = loader;
+        this.ttlNanos = ttl.toNanos();
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    // Fresh entries are served as is, expired entries are served while a background refresh
+    // runs as long as they are within the staleness bound, anything older is reloaded inline.
+    public T get() {
+        var current = entry;
+        if (current == null) {
+            return load().value();
+        }
+
+        var age = System.nanoTime() - current.loadedAt();
+        if (age <= ttlNanos) {
+            return current.value();
+        }
+        if (age <= ttlNanos + maxStalenessNanos) {
+            refreshInBackground();
+            return current.value();
+        }
+
+        return load().value();
+    }
+
+    public boolean isLoaded() {
+        return entry != null;
+    }
+
+    public long version() {
+        var current = entry;
+        return current == null ? 0 : current.version();
+    }
+
+    public synchronized Entry<T> load() {
+        log.info("load->started: {}", name);
+
+        var value = loader.get();
+        var previous = entry;
+        var version = previous == null ? 1 : previous.version();
+        if (previous != null && !Objects.equals(previous.value(), value)) {
+            version++;
+        }
+        entry = new Entry<>(value, System.nanoTime(), version);
+
+        log.info("load->finished: {}, version={}", name, version);
+
+        return entry;
+    }
+
+    // The clock keeps running while a snapshot sits on disk, so after a restore the entry
+    // is treated as just expired: it stays servable for the staleness bound while the
+    // background refresh replaces it. Synchronized with load(), so a refresh that finishes
+    // meanwhile is not overwritten with the old value.
+    public synchronized void expire() {
+        var current = entry;
+        if (current != null) {
+            entry = new Entry<>(current.value(), System.nanoTime() - ttlNanos - 1, current.version());
+        }
+    }
+
+    public void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        Thread.ofVirtual().name("%s-refresh".formatted(name)).start(() -> {
+            try {
+                load();
+            } catch (RuntimeException exception) {
+                log.error("refreshInBackground->error: {}", exception.getMessage());
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    public record Entry<T>(T value, long loadedAt, long version) {
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import software.amazon.awscdk.examples.unicorn.repository.PrimingQueryRegistry;
+import software.amazon.awscdk.examples.unicorn.restore.RestoreTask;
+import software.amazon.awscdk.examples.unicorn.restore.RestoreTaskSource;
+
+// Spring Boot evicts the connections of the Hikari pool before a checkpoint. With
+// spring.datasource.hikari.allow-pool-suspension it also suspends the pool, so it does not
+// refill in between, and resumes it after a restore. The restore task of this bean opens the
+// connections again, and re-runs the repository priming queries on each of them, so the first
+// request after a restore does not pay for the connect and authentication round trips, nor for
+// parsing and planning its statement. Tasks that read from the database depend on it.
+@Component
+public class DataSourceRestore implements RestoreTaskSource {
+
+    public static final String RECONNECT_TASK = "datasource-reconnect";
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceRestore.class);
+
+    private final DataSource dataSource;
+
+    private final PrimingQueryRegistry primingQueryRegistry;
+
+    private final UnicornDataSourceProperties.RestorePolicy restorePolicy;
+
+    public DataSourceRestore(DataSource dataSource, PrimingQueryRegistry primingQueryRegistry,
+            UnicornDataSourceProperties dataSourceProperties) {
+        this.dataSource = dataSource;
+        this.primingQueryRegistry = primingQueryRegistry;
+        this.restorePolicy = dataSourceProperties.restorePolicy();
+    }
+
+    // With the lazy policy the task stays registered, so the tasks that depend on it still run.
+    @Override
+    public List<RestoreTask> restoreTasks() {
+        var policy = restorePolicy == UnicornDataSourceProperties.RestorePolicy.BACKGROUND
+                ? RestoreTask.Policy.BACKGROUND
+                : RestoreTask.Policy.BLOCKING;
+        Runnable action = restorePolicy == UnicornDataSourceProperties.RestorePolicy.LAZY
+                ? () -> log.info("reconnect skipped, restorePolicy={}", restorePolicy)
+                : this::reconnect;
+        return List.of(new RestoreTask(RECONNECT_TASK, 100, Set.of(), policy, action));
+    }
+
+    public void reconnect() {
+        log.info("reconnect->started");
+
+        var connections = new ArrayList<Connection>();
+        try {
+            var poolSize = poolSize();
+            for (var i = 0; i < poolSize; i++) {
+                connections.add(dataSource.getConnection());
+            }
+            // Server-side statements belong to one connection, so each of them is primed.
+            for (var connection : connections) {
+                primingQueryRegistry.prime(connection);
+            }
+        } catch (SQLException exception) {
+            log.error("reconnect->error: {}", exception.getMessage());
+        } finally {
+            for (var connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException exception) {
+                    log.warn("reconnect->close error: {}", exception.getMessage());
+                }
+            }
+        }
+
+        log.info("reconnect->finished: connections={}", connections.size());
+    }
+
+    private int poolSize() throws SQLException {
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            return Math.max(1, dataSource.unwrap(HikariDataSource.class).getMinimumIdle());
+        }
+        return 1;
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.config;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import software.amazon.awscdk.examples.unicorn.restore.RestoreTaskScheduler;
+
+// The first start happens on context refresh and validates the restore tasks. Spring starts
+// this bean again after a restore, once the Hikari pool has been resumed, and then it runs them.
+@Component
+public class RestoreTaskLifecycle implements SmartLifecycle {
+
+    private final RestoreTaskScheduler restoreTaskScheduler;
+
+    private volatile boolean running;
+
+    private volatile boolean started;
+
+    public RestoreTaskLifecycle(RestoreTaskScheduler restoreTaskScheduler) {
+        this.restoreTaskScheduler = restoreTaskScheduler;
+    }
+
+    @Override
+    public void start() {
+        if (started) {
+            restoreTaskScheduler.run();
+        } else {
+            restoreTaskScheduler.validate();
+        }
+        started = true;
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return LifecyclePhases.RESTORE_TASKS;
+    }
+
+}
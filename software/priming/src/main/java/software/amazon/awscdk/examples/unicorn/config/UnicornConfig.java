@@ -18,16 +18,24 @@
 package software.amazon.awscdk.examples.unicorn.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
 import com.google.gson.Gson;
 
+import software.amazon.awscdk.examples.unicorn.json.GsonUnicornJsonWriter;
+import software.amazon.awscdk.examples.unicorn.json.StreamingUnicornJsonWriter;
+import software.amazon.awscdk.examples.unicorn.json.UnicornJsonWriter;
 import software.amazon.awscdk.examples.unicorn.service.UnicornService;
 
 @Configuration
 @ComponentScan("software.amazon.awscdk.examples.unicorn")
+@EnableConfigurationProperties({ UnicornCacheProperties.class, UnicornDataSourceProperties.class,
+        UnicornResponseCacheProperties.class, UnicornIndexProperties.class, UnicornCompressionProperties.class,
+        UnicornRestoreProperties.class })
 public class UnicornConfig {
 
     @Autowired
@@ -49,4 +57,12 @@ public class UnicornConfig {
         return gson;
     }
 
+    @Bean
+    public UnicornJsonWriter getUnicornJsonWriter(@Value("${unicorn.json.writer}") String writer) {
+        if ("streaming".equalsIgnoreCase(writer)) {
+            return new StreamingUnicornJsonWriter();
+        }
+        return new GsonUnicornJsonWriter(gson);
+    }
+
 }
@@ -23,18 +23,19 @@ import org.crac.Core;
 import org.crac.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.SpringApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
-import com.google.gson.Gson;
 
 import software.amazon.awscdk.examples.unicorn.ClassLoaderUtil;
 import software.amazon.awscdk.examples.unicorn.UnicornApplication;
+import software.amazon.awscdk.examples.unicorn.metrics.StartupTimeline;
 import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+import software.amazon.awscdk.examples.unicorn.model.UnicornQuery;
+import software.amazon.awscdk.examples.unicorn.response.UnicornResponseFactory;
 import software.amazon.awscdk.examples.unicorn.service.UnicornService;
 
 public class ClassPriming implements RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>, Resource {
@@ -43,16 +44,15 @@ public class ClassPriming implements RequestHandler<APIGatewayV2HTTPEvent, APIGa
 
     private final UnicornService unicornService;
 
-    private final Gson gson;
+    private final UnicornResponseFactory responseFactory;
 
     public ClassPriming() {
         log.info("ClassPriming->started");
 
-        ConfigurableApplicationContext configurableApplicationContext = SpringApplication.run(UnicornApplication.class
-        );
+        ConfigurableApplicationContext configurableApplicationContext = UnicornApplication.start();
 
         this.unicornService = configurableApplicationContext.getBean(UnicornService.class);
-        this.gson = configurableApplicationContext.getBean(Gson.class);
+        this.responseFactory = configurableApplicationContext.getBean(UnicornResponseFactory.class);
 
         Core.getGlobalContext().register(this);
 
@@ -61,21 +61,25 @@ public class ClassPriming implements RequestHandler<APIGatewayV2HTTPEvent, APIGa
 
     @Override
     public APIGatewayV2HTTPResponse handleRequest(APIGatewayV2HTTPEvent event, Context context) {
-        log.info("handleRequest->started");
+        return StartupTimeline.firstInvoke(() -> {
+            log.info("handleRequest->started");
 
-        var unicorns = getUnicorns();
-        var body = gson.toJson(unicorns);
+            var response = responseFactory.create(event, this::getUnicorns);
 
-        log.info("handleRequest->finished");
+            log.info("handleRequest->finished");
 
-        return APIGatewayV2HTTPResponse.builder().withStatusCode(200).withBody(body).build();
+            return response;
+        });
     }
 
     @Override
     public void beforeCheckpoint(org.crac.Context<? extends Resource> context)
             throws Exception {
         log.info("beforeCheckpoint->started");
-        ClassLoaderUtil.loadClassesFromFile();
+
+        StartupTimeline.time(StartupTimeline.CLASS_PRELOADING, () -> ClassLoaderUtil.loadClassesFromIndex(
+                "parallel".equalsIgnoreCase(System.getenv("CLASS_PRIMING_MODE"))));
+
         log.info("beforeCheckpoint->finished");
     }
 
@@ -85,10 +89,10 @@ public class ClassPriming implements RequestHandler<APIGatewayV2HTTPEvent, APIGa
         log.info("afterRestore->finished");
     }
 
-    public List<UnicornEmployee> getUnicorns() {
+    public List<UnicornEmployee> getUnicorns(UnicornQuery query) {
         log.info("getUnicorns->started");
 
-        List<UnicornEmployee> unicornEmployees = unicornService.read();
+        List<UnicornEmployee> unicornEmployees = unicornService.read(query);
 
         log.info("getUnicorns->finished");
 
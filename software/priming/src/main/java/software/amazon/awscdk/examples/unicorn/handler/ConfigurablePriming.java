@@ -0,0 +1,118 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.handler;
+
+import java.util.List;
+
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+
+import software.amazon.awscdk.examples.unicorn.UnicornApplication;
+import software.amazon.awscdk.examples.unicorn.metrics.StartupTimeline;
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+import software.amazon.awscdk.examples.unicorn.model.UnicornQuery;
+import software.amazon.awscdk.examples.unicorn.priming.PrimingContext;
+import software.amazon.awscdk.examples.unicorn.priming.PrimingPipeline;
+import software.amazon.awscdk.examples.unicorn.priming.PrimingStrategy;
+import software.amazon.awscdk.examples.unicorn.response.UnicornResponseFactory;
+import software.amazon.awscdk.examples.unicorn.service.UnicornService;
+
+public class ConfigurablePriming implements RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>, Resource {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigurablePriming.class);
+
+    private static final String DEFAULT_PRIMING_STRATEGIES = "classes,invoke";
+
+    private final UnicornService unicornService;
+
+    private final UnicornResponseFactory responseFactory;
+
+    private final PrimingPipeline primingPipeline;
+
+    private final List<PrimingStrategy> primingStrategies;
+
+    public ConfigurablePriming() {
+        log.info("ConfigurablePriming->started");
+
+        ConfigurableApplicationContext configurableApplicationContext = UnicornApplication.start();
+
+        this.unicornService = configurableApplicationContext.getBean(UnicornService.class);
+        this.responseFactory = configurableApplicationContext.getBean(UnicornResponseFactory.class);
+        this.primingPipeline = configurableApplicationContext.getBean(PrimingPipeline.class);
+
+        var primingStrategies = System.getenv("PRIMING_STRATEGIES");
+        this.primingStrategies = primingPipeline.resolve(
+                primingStrategies != null ? primingStrategies : DEFAULT_PRIMING_STRATEGIES);
+        log.info("primingStrategies: {}", this.primingStrategies.stream().map(PrimingStrategy::name).toList());
+
+        Core.getGlobalContext().register(this);
+
+        log.info("ConfigurablePriming->finished");
+    }
+
+    @Override
+    public APIGatewayV2HTTPResponse handleRequest(APIGatewayV2HTTPEvent event, Context context) {
+        return StartupTimeline.firstInvoke(() -> {
+            log.info("handleRequest->started");
+
+            var awsLambdaInitializationType = System.getenv("AWS_LAMBDA_INITIALIZATION_TYPE");
+            log.info("awsLambdaInitializationType: {}", awsLambdaInitializationType);
+
+            var response = responseFactory.create(event, this::getUnicorns);
+
+            log.info("handleRequest->finished");
+
+            return response;
+        });
+    }
+
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context)
+            throws Exception {
+        log.info("beforeCheckpoint->started");
+
+        primingPipeline.run(primingStrategies, new PrimingContext(this));
+
+        log.info("beforeCheckpoint->finished");
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) throws Exception {
+        log.info("afterRestore->started");
+        log.info("afterRestore->finished");
+    }
+
+    public List<UnicornEmployee> getUnicorns(UnicornQuery query) {
+        log.info("getUnicorns->started");
+
+        List<UnicornEmployee> unicornEmployees = unicornService.read(query);
+
+        log.info("getUnicorns->finished");
+
+        return unicornEmployees;
+    }
+
+}
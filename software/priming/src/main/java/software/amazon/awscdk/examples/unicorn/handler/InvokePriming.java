@@ -23,17 +23,20 @@ import org.crac.Core;
 import org.crac.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.SpringApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
-import com.google.gson.Gson;
 
 import software.amazon.awscdk.examples.unicorn.UnicornApplication;
+import software.amazon.awscdk.examples.unicorn.metrics.StartupTimeline;
 import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+import software.amazon.awscdk.examples.unicorn.model.UnicornQuery;
+import software.amazon.awscdk.examples.unicorn.priming.JitWarmup;
+import software.amazon.awscdk.examples.unicorn.priming.SamplePage;
+import software.amazon.awscdk.examples.unicorn.response.UnicornResponseFactory;
 import software.amazon.awscdk.examples.unicorn.service.UnicornService;
 
 public class InvokePriming implements RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>, Resource {
@@ -42,16 +45,15 @@ public class InvokePriming implements RequestHandler<APIGatewayV2HTTPEvent, APIG
 
     private final UnicornService unicornService;
 
-    private final Gson gson;
+    private final UnicornResponseFactory responseFactory;
 
     public InvokePriming() {
         log.info("InvokePriming->started");
 
-        ConfigurableApplicationContext configurableApplicationContext = SpringApplication.run(UnicornApplication.class
-        );
+        ConfigurableApplicationContext configurableApplicationContext = UnicornApplication.start();
 
         this.unicornService = configurableApplicationContext.getBean(UnicornService.class);
-        this.gson = configurableApplicationContext.getBean(Gson.class);
+        this.responseFactory = configurableApplicationContext.getBean(UnicornResponseFactory.class);
 
         Core.getGlobalContext().register(this);
 
@@ -60,17 +62,18 @@ public class InvokePriming implements RequestHandler<APIGatewayV2HTTPEvent, APIG
 
     @Override
     public APIGatewayV2HTTPResponse handleRequest(APIGatewayV2HTTPEvent event, Context context) {
-        log.info("handleRequest->started");
+        return StartupTimeline.firstInvoke(() -> {
+            log.info("handleRequest->started");
 
-        var awsLambdaInitializationType = System.getenv("AWS_LAMBDA_INITIALIZATION_TYPE");
-        log.info("awsLambdaInitializationType: {}", awsLambdaInitializationType);
+            var awsLambdaInitializationType = System.getenv("AWS_LAMBDA_INITIALIZATION_TYPE");
+            log.info("awsLambdaInitializationType: {}", awsLambdaInitializationType);
 
-        var unicorns = getUnicorns();
-        var body = gson.toJson(unicorns);
+            var response = responseFactory.create(event, this::getUnicorns);
 
-        log.info("handleRequest->finished");
+            log.info("handleRequest->finished");
 
-        return APIGatewayV2HTTPResponse.builder().withStatusCode(200).withBody(body).build();
+            return response;
+        });
     }
 
     @Override
@@ -80,7 +83,13 @@ public class InvokePriming implements RequestHandler<APIGatewayV2HTTPEvent, APIG
 
         var event = APIGatewayV2HTTPEvent.builder().build();
 
-        handleRequest(event, null);
+        StartupTimeline.time(StartupTimeline.PRIMING_INVOKE, () -> {
+            handleRequest(event, null);
+            // The loop leaves out the database and the logging, which the request above covers.
+            if ("warmup".equalsIgnoreCase(System.getenv("INVOKE_PRIMING_MODE"))) {
+                JitWarmup.fromEnvironment().run(() -> SamplePage.render(event, responseFactory));
+            }
+        });
 
         log.info("beforeCheckpoint->finished");
     }
@@ -91,10 +100,10 @@ public class InvokePriming implements RequestHandler<APIGatewayV2HTTPEvent, APIG
         log.info("afterRestore->finished");
     }
 
-    public List<UnicornEmployee> getUnicorns() {
+    public List<UnicornEmployee> getUnicorns(UnicornQuery query) {
         log.info("getUnicorns->started");
 
-        List<UnicornEmployee> unicornEmployees = unicornService.read();
+        List<UnicornEmployee> unicornEmployees = unicornService.read(query);
 
         log.info("getUnicorns->finished");
 
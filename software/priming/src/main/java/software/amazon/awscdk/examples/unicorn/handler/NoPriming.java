@@ -21,17 +21,18 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.SpringApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
-import com.google.gson.Gson;
 
 import software.amazon.awscdk.examples.unicorn.UnicornApplication;
+import software.amazon.awscdk.examples.unicorn.metrics.StartupTimeline;
 import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+import software.amazon.awscdk.examples.unicorn.model.UnicornQuery;
+import software.amazon.awscdk.examples.unicorn.response.UnicornResponseFactory;
 import software.amazon.awscdk.examples.unicorn.service.UnicornService;
 
 public class NoPriming implements RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
@@ -40,39 +41,39 @@ public class NoPriming implements RequestHandler<APIGatewayV2HTTPEvent, APIGatew
 
     private final UnicornService unicornService;
 
-    private final Gson gson;
+    private final UnicornResponseFactory responseFactory;
 
     public NoPriming() {
         log.info("NoPriming->started");
 
-        ConfigurableApplicationContext configurableApplicationContext = SpringApplication.run(UnicornApplication.class
-        );
+        ConfigurableApplicationContext configurableApplicationContext = UnicornApplication.start();
 
         this.unicornService = configurableApplicationContext.getBean(UnicornService.class);
-        this.gson = configurableApplicationContext.getBean(Gson.class);
+        this.responseFactory = configurableApplicationContext.getBean(UnicornResponseFactory.class);
 
         log.info("NoPriming->finished");
     }
 
     @Override
     public APIGatewayV2HTTPResponse handleRequest(APIGatewayV2HTTPEvent event, Context context) {
-        log.info("handleRequest->started");
+        return StartupTimeline.firstInvoke(() -> {
+            log.info("handleRequest->started");
 
-        var awsLambdaInitializationType = System.getenv("AWS_LAMBDA_INITIALIZATION_TYPE");
-        log.info("awsLambdaInitializationType: {}", awsLambdaInitializationType);
+            var awsLambdaInitializationType = System.getenv("AWS_LAMBDA_INITIALIZATION_TYPE");
+            log.info("awsLambdaInitializationType: {}", awsLambdaInitializationType);
 
-        var unicorns = getUnicorns();
-        var body = gson.toJson(unicorns);
+            var response = responseFactory.create(event, this::getUnicorns);
 
-        log.info("handleRequest->finished");
+            log.info("handleRequest->finished");
 
-        return APIGatewayV2HTTPResponse.builder().withStatusCode(200).withBody(body).build();
+            return response;
+        });
     }
 
-    public List<UnicornEmployee> getUnicorns() {
+    public List<UnicornEmployee> getUnicorns(UnicornQuery query) {
         log.info("getUnicorns->started");
 
-        List<UnicornEmployee> unicornEmployees = unicornService.read();
+        List<UnicornEmployee> unicornEmployees = unicornService.read(query);
 
         log.info("getUnicorns->finished");
 
@@ -0,0 +1,227 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.handler;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import com.google.gson.Gson;
+import com.zaxxer.hikari.HikariDataSource;
+
+import software.amazon.awscdk.examples.unicorn.config.DataSourceRestore;
+import software.amazon.awscdk.examples.unicorn.config.UnicornCacheProperties;
+import software.amazon.awscdk.examples.unicorn.config.UnicornCompressionProperties;
+import software.amazon.awscdk.examples.unicorn.config.UnicornDataSourceProperties;
+import software.amazon.awscdk.examples.unicorn.config.UnicornIndexProperties;
+import software.amazon.awscdk.examples.unicorn.config.UnicornResponseCacheProperties;
+import software.amazon.awscdk.examples.unicorn.config.UnicornRestoreProperties;
+import software.amazon.awscdk.examples.unicorn.json.GsonUnicornJsonWriter;
+import software.amazon.awscdk.examples.unicorn.json.StreamingUnicornJsonWriter;
+import software.amazon.awscdk.examples.unicorn.json.UnicornJsonWriter;
+import software.amazon.awscdk.examples.unicorn.metrics.StartupTimeline;
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+import software.amazon.awscdk.examples.unicorn.model.UnicornQuery;
+import software.amazon.awscdk.examples.unicorn.repository.PrimingQueryRegistry;
+import software.amazon.awscdk.examples.unicorn.repository.JdbcUnicornRepository;
+import software.amazon.awscdk.examples.unicorn.response.UnicornResponseFactory;
+import software.amazon.awscdk.examples.unicorn.restore.RestoreTaskScheduler;
+import software.amazon.awscdk.examples.unicorn.service.UnicornService;
+
+// Serves the same service as the other handlers, wired by hand instead of by a Spring
+// application context, on a repository that uses plain JDBC. No Spring class is loaded: the
+// classes it shares with the Spring handlers only carry Spring annotations, which are not
+// resolved unless they are read. The checkpoint hooks do what the Spring lifecycle does for
+// the other handlers: suspend the pool, when that is allowed, and close its connections before
+// the snapshot, and resume the pool and run the restore tasks after the restore. The
+// connections are reopened as UNICORN_DATASOURCE_RESTORE_POLICY says, like DataSourceRestore
+// does for the other handlers.
+public class SpringFree implements RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse>, Resource {
+
+    private static final Logger log = LoggerFactory.getLogger(SpringFree.class);
+
+    private static final Pattern SIMPLE_DURATION = Pattern.compile("([+-]?\\d+)([a-z]*)");
+
+    private final HikariDataSource dataSource;
+
+    private final UnicornService unicornService;
+
+    private final UnicornResponseFactory responseFactory;
+
+    private final RestoreTaskScheduler restoreTaskScheduler;
+
+    public SpringFree() {
+        log.info("SpringFree->started");
+
+        StartupTimeline.registerLifecycleResource();
+
+        this.dataSource = createDataSource();
+
+        var unicornRepository = new JdbcUnicornRepository(dataSource);
+        var primingQueryRegistry = new PrimingQueryRegistry(List.of(unicornRepository));
+        this.unicornService = new UnicornService(unicornRepository, new UnicornCacheProperties(
+                Boolean.parseBoolean(env("UNICORN_CACHE_ENABLED", "false")),
+                duration("UNICORN_CACHE_TTL", "60s"),
+                duration("UNICORN_CACHE_MAX_STALENESS", "5m")),
+                new UnicornIndexProperties(
+                        Boolean.parseBoolean(env("UNICORN_INDEX_ENABLED", "false")),
+                        Integer.parseInt(env("UNICORN_INDEX_MAX_ENTRIES", "100000"))));
+        this.responseFactory = new UnicornResponseFactory(createJsonWriter(), unicornService,
+                new UnicornResponseCacheProperties(
+                        Boolean.parseBoolean(env("UNICORN_RESPONSE_CACHE_ENABLED", "false")),
+                        duration("UNICORN_RESPONSE_CACHE_TTL", "30s"),
+                        Integer.parseInt(env("UNICORN_RESPONSE_CACHE_MAX_ENTRIES", "256"))),
+                new UnicornCompressionProperties(
+                        Boolean.parseBoolean(env("UNICORN_COMPRESSION_ENABLED", "false")),
+                        Integer.parseInt(env("UNICORN_COMPRESSION_MIN_SIZE", "1024"))));
+
+        var dataSourceRestore = new DataSourceRestore(dataSource, primingQueryRegistry,
+                new UnicornDataSourceProperties(UnicornDataSourceProperties.RestorePolicy.valueOf(
+                        env("UNICORN_DATASOURCE_RESTORE_POLICY", "lazy").toUpperCase(Locale.ROOT))));
+        this.restoreTaskScheduler = new RestoreTaskScheduler(
+                List.of(dataSourceRestore, unicornService, responseFactory),
+                new UnicornRestoreProperties(duration("UNICORN_RESTORE_DEADLINE", "5s"),
+                        Integer.parseInt(env("UNICORN_RESTORE_MAX_CONCURRENCY", "8"))));
+
+        unicornService.initialize();
+        restoreTaskScheduler.validate();
+
+        // Restore hooks run in registration order: the marker goes last, so the AfterRestore
+        // phase includes the restore work of this handler.
+        Core.getGlobalContext().register(this);
+        StartupTimeline.registerRestoreMarker();
+
+        log.info("SpringFree->finished");
+    }
+
+    @Override
+    public APIGatewayV2HTTPResponse handleRequest(APIGatewayV2HTTPEvent event, Context context) {
+        return StartupTimeline.firstInvoke(() -> {
+            log.info("handleRequest->started");
+
+            var response = responseFactory.create(event, this::getUnicorns);
+
+            log.info("handleRequest->finished");
+
+            return response;
+        });
+    }
+
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context) throws Exception {
+        log.info("beforeCheckpoint->started");
+
+        if ("invoke".equalsIgnoreCase(System.getenv("SPRING_FREE_PRIMING"))) {
+            StartupTimeline.time(StartupTimeline.PRIMING_INVOKE, () -> handleRequest(APIGatewayV2HTTPEvent.builder().build(), null));
+        }
+
+        var poolMXBean = dataSource.getHikariPoolMXBean();
+        if (poolMXBean != null) {
+            if (dataSource.isAllowPoolSuspension()) {
+                poolMXBean.suspendPool();
+            }
+            poolMXBean.softEvictConnections();
+        }
+
+        log.info("beforeCheckpoint->finished");
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) throws Exception {
+        log.info("afterRestore->started");
+
+        var poolMXBean = dataSource.getHikariPoolMXBean();
+        if (poolMXBean != null && dataSource.isAllowPoolSuspension()) {
+            poolMXBean.resumePool();
+        }
+
+        restoreTaskScheduler.run();
+
+        log.info("afterRestore->finished");
+    }
+
+    public List<UnicornEmployee> getUnicorns(UnicornQuery query) {
+        log.info("getUnicorns->started");
+
+        List<UnicornEmployee> unicornEmployees = unicornService.read(query);
+
+        log.info("getUnicorns->finished");
+
+        return unicornEmployees;
+    }
+
+    // Like the pool Spring Boot creates, it connects on the first getConnection() call.
+    private static HikariDataSource createDataSource() {
+        var dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getenv("SPRING_DATASOURCE_URL"));
+        dataSource.setUsername(env("SPRING_DATASOURCE_USERNAME", "postgres"));
+        dataSource.setPassword(System.getenv("SPRING_DATASOURCE_PASSWORD"));
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setAllowPoolSuspension(
+                Boolean.parseBoolean(env("UNICORN_DATASOURCE_ALLOW_POOL_SUSPENSION", "false")));
+        return dataSource;
+    }
+
+    private static UnicornJsonWriter createJsonWriter() {
+        if ("streaming".equalsIgnoreCase(env("UNICORN_JSON_WRITER", "gson"))) {
+            return new StreamingUnicornJsonWriter();
+        }
+        return new GsonUnicornJsonWriter(new Gson());
+    }
+
+    // Accepts the formats Spring Boot binds durations from: ISO-8601 (PT30S), or a number with
+    // an optional ns, us, ms, s, m, h or d unit, milliseconds when there is none.
+    private static Duration duration(String name, String defaultValue) {
+        var value = env(name, defaultValue).toLowerCase(Locale.ROOT);
+        if (value.startsWith("p") || value.startsWith("-p")) {
+            return Duration.parse(value);
+        }
+        var matcher = SIMPLE_DURATION.matcher(value);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(name + " is not a valid duration: " + value);
+        }
+        var amount = Long.parseLong(matcher.group(1));
+        return switch (matcher.group(2)) {
+            case "ns" -> Duration.ofNanos(amount);
+            case "us" -> Duration.of(amount, ChronoUnit.MICROS);
+            case "", "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            case "d" -> Duration.ofDays(amount);
+            default -> throw new IllegalArgumentException(name + " has an unknown duration unit: " + value);
+        };
+    }
+
+    private static String env(String name, String defaultValue) {
+        var value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+}
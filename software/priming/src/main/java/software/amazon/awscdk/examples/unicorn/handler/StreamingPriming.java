@@ -0,0 +1,166 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.handler;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import software.amazon.awscdk.examples.unicorn.UnicornApplication;
+import software.amazon.awscdk.examples.unicorn.json.StreamingResponseWriter;
+import software.amazon.awscdk.examples.unicorn.metrics.StartupTimeline;
+import software.amazon.awscdk.examples.unicorn.model.UnicornQuery;
+import software.amazon.awscdk.examples.unicorn.repository.UnicornRepository;
+import software.amazon.awscdk.examples.unicorn.service.UnicornService;
+
+// Same data as InvokePriming, but the response is written to the output stream while the
+// result set is read: no employee list, no body String and no response object are built for
+// a page. Only the query string parameters are read from the event. The other query kinds are
+// bounded by the index or by the id count and go through UnicornService.
+public class StreamingPriming implements RequestStreamHandler, Resource {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingPriming.class);
+
+    private final UnicornRepository unicornRepository;
+
+    private final UnicornService unicornService;
+
+    public StreamingPriming() {
+        log.info("StreamingPriming->started");
+
+        ConfigurableApplicationContext configurableApplicationContext = UnicornApplication.start();
+
+        this.unicornRepository = configurableApplicationContext.getBean(UnicornRepository.class);
+        this.unicornService = configurableApplicationContext.getBean(UnicornService.class);
+
+        Core.getGlobalContext().register(this);
+
+        log.info("StreamingPriming->finished");
+    }
+
+    @Override
+    public void handleRequest(InputStream inputStream, OutputStream outputStream, Context context)
+            throws IOException {
+        StartupTimeline.firstInvoke(() -> {
+            log.info("handleRequest->started");
+
+            UnicornQuery query;
+            try {
+                query = UnicornQuery.from(readQueryStringParameters(inputStream));
+            } catch (IllegalArgumentException exception) {
+                StreamingResponseWriter.writeResponse(outputStream, 400, exception.getMessage());
+                log.info("handleRequest->finished");
+                return;
+            }
+
+            var writer = new StreamingResponseWriter(outputStream);
+            try {
+                if (query instanceof UnicornQuery.Page page) {
+                    unicornRepository.forEachInPage(page.pageRequest(), writer::write);
+                } else {
+                    var unicornEmployees = unicornService.read(query);
+                    if (query instanceof UnicornQuery.ById && unicornEmployees.isEmpty()) {
+                        StreamingResponseWriter.writeResponse(outputStream, 404, null);
+                        log.info("handleRequest->finished");
+                        return;
+                    }
+                    unicornEmployees.forEach(writer::write);
+                }
+                writer.finish();
+            } catch (RuntimeException exception) {
+                // Like the other handlers, a failed query before the first flush is an empty page.
+                if (writer.isCommitted()) {
+                    throw exception;
+                }
+                log.error("handleRequest->error: {}", exception.getMessage());
+                new StreamingResponseWriter(outputStream).finish();
+            }
+
+            log.info("handleRequest->finished: rows={}", writer.rows());
+        });
+    }
+
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context) throws Exception {
+        log.info("beforeCheckpoint->started");
+
+        StartupTimeline.time(StartupTimeline.PRIMING_INVOKE, () -> {
+            handleRequest(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)),
+                    OutputStream.nullOutputStream(), null);
+        });
+
+        log.info("beforeCheckpoint->finished");
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) throws Exception {
+        log.info("afterRestore->started");
+        log.info("afterRestore->finished");
+    }
+
+    // Works for both the REST and the HTTP API event, every other field is skipped unparsed.
+    static Map<String, String> readQueryStringParameters(InputStream inputStream) throws IOException {
+        var reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        try {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return Map.of();
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("queryStringParameters") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    var queryStringParameters = new HashMap<String, String>();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        var name = reader.nextName();
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.nextNull();
+                        } else {
+                            queryStringParameters.put(name, reader.nextString());
+                        }
+                    }
+                    return queryStringParameters;
+                }
+                reader.skipValue();
+            }
+        } catch (EOFException exception) {
+            // An empty event has no parameters.
+        }
+
+        return Map.of();
+    }
+
+}
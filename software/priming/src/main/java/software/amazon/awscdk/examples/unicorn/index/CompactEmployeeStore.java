@@ -0,0 +1,267 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.index;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+
+// Column-wise copy of employee rows for the in-memory structures that end up in the snapshot.
+// Ids are ints, names share one UTF-8 byte array, location, gender and exempt status are
+// dictionary codes and hire dates are epoch days. A row takes about 16 bytes plus its name,
+// instead of a record and five Strings. UnicornEmployee views are only built on read.
+public final class CompactEmployeeStore {
+
+    // DateHired is M/d/yy text, two-digit years from 50 on are 19xx, below 50 are 20xx.
+    private static final int PIVOT_YEAR = 50;
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int RAW_DATE = Integer.MIN_VALUE + 1;
+
+    private final int size;
+
+    private final int[] employeeIds;
+
+    private final byte[] names;
+
+    private final int[] nameOffsets;
+
+    private final short[] locations;
+
+    private final short[] genders;
+
+    private final short[] exemptStatuses;
+
+    private final int[] hireDays;
+
+    private final Dictionary locationDictionary;
+
+    private final Dictionary genderDictionary;
+
+    private final Dictionary exemptStatusDictionary;
+
+    // Dates that do not survive a round trip through epoch days, for example "01/05/92", are
+    // kept as text so that the views return exactly what the database holds.
+    private final Map<Integer, String> rawDates;
+
+    private final BitSet nullNames;
+
+    private CompactEmployeeStore(Builder builder, int size) {
+        this.size = size;
+        this.employeeIds = Arrays.copyOf(builder.employeeIds, size);
+        this.nameOffsets = Arrays.copyOf(builder.nameOffsets, size + 1);
+        this.names = Arrays.copyOf(builder.names, nameOffsets[size]);
+        this.locations = Arrays.copyOf(builder.locations, size);
+        this.genders = Arrays.copyOf(builder.genders, size);
+        this.exemptStatuses = Arrays.copyOf(builder.exemptStatuses, size);
+        this.hireDays = Arrays.copyOf(builder.hireDays, size);
+        this.locationDictionary = builder.locationDictionary;
+        this.genderDictionary = builder.genderDictionary;
+        this.exemptStatusDictionary = builder.exemptStatusDictionary;
+        this.rawDates = new HashMap<>(builder.rawDates);
+        rawDates.keySet().removeIf(position -> position >= size);
+        this.nullNames = builder.nullNames.get(0, size);
+    }
+
+    public static CompactEmployeeStore of(List<UnicornEmployee> unicornEmployees) {
+        var builder = new Builder();
+        unicornEmployees.forEach(builder);
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int employeeId(int position) {
+        return employeeIds[position];
+    }
+
+    public UnicornEmployee employee(int position) {
+        var nameStart = nameOffsets[position];
+        var nameLength = nameOffsets[position + 1] - nameStart;
+        var employeeName = nullNames.get(position) ? null : new String(names, nameStart, nameLength, StandardCharsets.UTF_8);
+
+        return new UnicornEmployee(employeeIds[position],
+                employeeName,
+                locationDictionary.decode(locations[position]),
+                genderDictionary.decode(genders[position]),
+                dateHired(position),
+                exemptStatusDictionary.decode(exemptStatuses[position]));
+    }
+
+    short locationCode(int position) {
+        return locations[position];
+    }
+
+    short exemptStatusCode(int position) {
+        return exemptStatuses[position];
+    }
+
+    // NULL when no row has the value.
+    short locationCodeOf(String location) {
+        return locationDictionary.codeOf(location);
+    }
+
+    short exemptStatusCodeOf(String exemptStatus) {
+        return exemptStatusDictionary.codeOf(exemptStatus);
+    }
+
+    int locationCount() {
+        return locationDictionary.size();
+    }
+
+    int exemptStatusCount() {
+        return exemptStatusDictionary.size();
+    }
+
+    // Array payloads only, without object headers and the dictionaries.
+    public long footprintBytes() {
+        return 4L * employeeIds.length + names.length + 4L * nameOffsets.length
+                + 2L * (locations.length + genders.length + exemptStatuses.length) + 4L * hireDays.length;
+    }
+
+    private String dateHired(int position) {
+        var hireDay = hireDays[position];
+        if (hireDay == NO_DATE) {
+            return null;
+        }
+        if (hireDay == RAW_DATE) {
+            return rawDates.get(position);
+        }
+        return format(LocalDate.ofEpochDay(hireDay));
+    }
+
+    static int parseDate(String value) {
+        var firstSlash = value.indexOf('/');
+        var secondSlash = value.indexOf('/', firstSlash + 1);
+        if (firstSlash < 0 || secondSlash < 0 || value.length() - secondSlash != 3) {
+            return RAW_DATE;
+        }
+
+        try {
+            var month = Integer.parseInt(value, 0, firstSlash, 10);
+            var day = Integer.parseInt(value, firstSlash + 1, secondSlash, 10);
+            var year = Integer.parseInt(value, secondSlash + 1, value.length(), 10);
+            year += year >= PIVOT_YEAR ? 1900 : 2000;
+
+            var date = LocalDate.of(year, month, day);
+            return format(date).equals(value) ? (int) date.toEpochDay() : RAW_DATE;
+        } catch (RuntimeException exception) {
+            return RAW_DATE;
+        }
+    }
+
+    private static String format(LocalDate date) {
+        var year = date.getYear() % 100;
+        return date.getMonthValue() + "/" + date.getDayOfMonth() + "/" + (year < 10 ? "0" : "") + year;
+    }
+
+    // Accepts the rows one by one, so a result set can be loaded without an intermediate list.
+    public static final class Builder implements Consumer<UnicornEmployee> {
+
+        private int size;
+
+        private int[] employeeIds = new int[64];
+
+        private byte[] names = new byte[1024];
+
+        private int[] nameOffsets = new int[65];
+
+        private short[] locations = new short[64];
+
+        private short[] genders = new short[64];
+
+        private short[] exemptStatuses = new short[64];
+
+        private int[] hireDays = new int[64];
+
+        private final Dictionary locationDictionary = new Dictionary();
+
+        private final Dictionary genderDictionary = new Dictionary();
+
+        private final Dictionary exemptStatusDictionary = new Dictionary();
+
+        private final Map<Integer, String> rawDates = new HashMap<>();
+
+        private final BitSet nullNames = new BitSet();
+
+        @Override
+        public void accept(UnicornEmployee unicornEmployee) {
+            if (size == employeeIds.length) {
+                var capacity = size * 2;
+                employeeIds = Arrays.copyOf(employeeIds, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+                locations = Arrays.copyOf(locations, capacity);
+                genders = Arrays.copyOf(genders, capacity);
+                exemptStatuses = Arrays.copyOf(exemptStatuses, capacity);
+                hireDays = Arrays.copyOf(hireDays, capacity);
+            }
+
+            employeeIds[size] = unicornEmployee.employeeId();
+
+            var nameStart = nameOffsets[size];
+            if (unicornEmployee.employeeName() == null) {
+                nullNames.set(size);
+                nameOffsets[size + 1] = nameStart;
+            } else {
+                var name = unicornEmployee.employeeName().getBytes(StandardCharsets.UTF_8);
+                if (nameStart + name.length > names.length) {
+                    names = Arrays.copyOf(names, Math.max(names.length * 2, nameStart + name.length));
+                }
+                System.arraycopy(name, 0, names, nameStart, name.length);
+                nameOffsets[size + 1] = nameStart + name.length;
+            }
+
+            locations[size] = locationDictionary.encode(unicornEmployee.location());
+            genders[size] = genderDictionary.encode(unicornEmployee.gender());
+            exemptStatuses[size] = exemptStatusDictionary.encode(unicornEmployee.exemptStatus());
+
+            var dateHired = unicornEmployee.dateHired();
+            hireDays[size] = dateHired == null ? NO_DATE : parseDate(dateHired);
+            if (hireDays[size] == RAW_DATE) {
+                rawDates.put(size, dateHired);
+            }
+
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public CompactEmployeeStore build() {
+            return new CompactEmployeeStore(this, size);
+        }
+
+        // Keeps the first rows only.
+        public CompactEmployeeStore build(int maxSize) {
+            return new CompactEmployeeStore(this, Math.min(size, maxSize));
+        }
+
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Maps the few distinct values of a column to short codes. Code -1 stands for null.
+final class Dictionary {
+
+    static final short NULL = -1;
+
+    private final Map<String, Short> codes = new HashMap<>();
+
+    private final List<String> values = new ArrayList<>();
+
+    short encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        var code = codes.get(value);
+        if (code == null) {
+            if (values.size() == Short.MAX_VALUE) {
+                throw new IllegalStateException("More than " + Short.MAX_VALUE + " distinct values");
+            }
+            code = (short) values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    // Returns NULL for a value that is not in the dictionary.
+    short codeOf(String value) {
+        var code = value == null ? null : codes.get(value);
+        return code == null ? NULL : code;
+    }
+
+    String decode(short code) {
+        return code == NULL ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import software.amazon.awscdk.examples.unicorn.model.PageRequest;
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+
+// Immutable in-memory copy of the employees, ordered by id and held in a CompactEmployeeStore.
+// Point lookups go through an open-addressing table with primitive int keys, so a lookup
+// neither boxes the id nor searches. The filters use per-code lists of positions in the store.
+public final class EmployeeIndex {
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    public static final EmployeeIndex EMPTY = new EmployeeIndex(List.of(), false);
+
+    private final CompactEmployeeStore store;
+
+    // keys[slot] is an employee id, positions[slot] its position in the store plus one, 0 marks a free slot.
+    private final int[] keys;
+
+    private final int[] positions;
+
+    private final int mask;
+
+    // Indexed by dictionary code.
+    private final int[][] byLocation;
+
+    private final int[][] byExemptStatus;
+
+    private final boolean complete;
+
+    public EmployeeIndex(List<UnicornEmployee> employees, boolean complete) {
+        this(CompactEmployeeStore.of(employees), complete);
+    }
+
+    // The employees have to be ordered by id. An index that is not complete only holds the
+    // lowest ids of the table and cannot answer filters.
+    public EmployeeIndex(CompactEmployeeStore store, boolean complete) {
+        this.store = store;
+        this.complete = complete;
+
+        // A load factor of at most 0.5 keeps the probe sequences short.
+        var capacity = Integer.highestOneBit(Math.max(1, store.size()) * 2 - 1) << 1;
+        this.keys = new int[capacity];
+        this.positions = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (var position = 0; position < store.size(); position++) {
+            var employeeId = store.employeeId(position);
+            var slot = slot(employeeId);
+            while (positions[slot] != 0 && keys[slot] != employeeId) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = employeeId;
+            positions[slot] = position + 1;
+        }
+
+        var locationCodes = new short[store.size()];
+        var exemptStatusCodes = new short[store.size()];
+        for (var position = 0; position < store.size(); position++) {
+            locationCodes[position] = store.locationCode(position);
+            exemptStatusCodes[position] = store.exemptStatusCode(position);
+        }
+        this.byLocation = postings(locationCodes, store.locationCount());
+        this.byExemptStatus = postings(exemptStatusCodes, store.exemptStatusCount());
+    }
+
+    public UnicornEmployee get(int employeeId) {
+        var slot = slot(employeeId);
+        while (positions[slot] != 0) {
+            if (keys[slot] == employeeId) {
+                return store.employee(positions[slot] - 1);
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public List<UnicornEmployee> filter(String location, String exemptStatus, PageRequest pageRequest) {
+        if (location == null && exemptStatus == null) {
+            throw new IllegalArgumentException("filter needs a location or an exempt status");
+        }
+
+        var locationCode = location != null ? store.locationCodeOf(location) : Dictionary.NULL;
+        var exemptStatusCode = exemptStatus != null ? store.exemptStatusCodeOf(exemptStatus) : Dictionary.NULL;
+        var locationPositions = location != null ? positions(byLocation, locationCode) : null;
+        var exemptStatusPositions = exemptStatus != null ? positions(byExemptStatus, exemptStatusCode) : null;
+
+        // Walk the shorter list and compare the other code on each position.
+        int[] candidates;
+        if (locationPositions == null) {
+            candidates = exemptStatusPositions;
+        } else if (exemptStatusPositions == null || locationPositions.length <= exemptStatusPositions.length) {
+            candidates = locationPositions;
+        } else {
+            candidates = exemptStatusPositions;
+        }
+
+        var result = new ArrayList<UnicornEmployee>(Math.min(pageRequest.pageSize(), candidates.length));
+        for (var i = firstAfter(candidates, pageRequest.afterId()); i < candidates.length; i++) {
+            var position = candidates[i];
+            if ((location == null || store.locationCode(position) == locationCode)
+                    && (exemptStatus == null || store.exemptStatusCode(position) == exemptStatusCode)) {
+                result.add(store.employee(position));
+                if (result.size() == pageRequest.pageSize()) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public long footprintBytes() {
+        return store.footprintBytes();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    // Positions are ascending and so are the ids at those positions.
+    private int firstAfter(int[] candidates, int afterId) {
+        var low = 0;
+        var high = candidates.length;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (store.employeeId(candidates[middle]) <= afterId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int slot(int employeeId) {
+        var hash = employeeId * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static int[] positions(int[][] postings, short code) {
+        return code == Dictionary.NULL ? NO_POSITIONS : postings[code];
+    }
+
+    // Counts first, so each list is allocated at its final size.
+    private static int[][] postings(short[] codes, int codeCount) {
+        var counts = new int[codeCount];
+        for (var code : codes) {
+            if (code != Dictionary.NULL) {
+                counts[code]++;
+            }
+        }
+
+        var postings = new int[codeCount][];
+        for (var code = 0; code < codeCount; code++) {
+            postings[code] = new int[counts[code]];
+            counts[code] = 0;
+        }
+        for (var position = 0; position < codes.length; position++) {
+            var code = codes[position];
+            if (code != Dictionary.NULL) {
+                postings[code][counts[code]++] = position;
+            }
+        }
+        return postings;
+    }
+
+}
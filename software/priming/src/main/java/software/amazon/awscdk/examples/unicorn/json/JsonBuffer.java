@@ -0,0 +1,197 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Growable UTF-8 output buffer for hand written JSON. String escaping matches Gson's
+// defaults (HTML-safe), so both writers produce the same bytes.
+public class JsonBuffer {
+
+    private static final char LINE_SEPARATOR = 0x2028;
+
+    private static final char PARAGRAPH_SEPARATOR = 0x2029;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] bytes;
+
+    private int size;
+
+    public JsonBuffer(int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+    }
+
+    public JsonBuffer reset() {
+        size = 0;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return bytes.length;
+    }
+
+    public JsonBuffer writeByte(char value) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) value;
+        return this;
+    }
+
+    public JsonBuffer writeAscii(String value) {
+        var length = value.length();
+        ensureCapacity(length);
+        for (var i = 0; i < length; i++) {
+            bytes[size++] = (byte) value.charAt(i);
+        }
+        return this;
+    }
+
+    public JsonBuffer writeInt(int value) {
+        if (value == Integer.MIN_VALUE) {
+            return writeAscii("-2147483648");
+        }
+        ensureCapacity(11);
+        if (value < 0) {
+            bytes[size++] = '-';
+            value = -value;
+        }
+        var start = size;
+        do {
+            bytes[size++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        for (int left = start, right = size - 1; left < right; left++, right--) {
+            var swap = bytes[left];
+            bytes[left] = bytes[right];
+            bytes[right] = swap;
+        }
+        return this;
+    }
+
+    public JsonBuffer writeString(String value) {
+        if (value == null) {
+            return writeAscii("null");
+        }
+
+        var length = value.length();
+        ensureCapacity(length + 2);
+        bytes[size++] = '"';
+        for (var i = 0; i < length; i++) {
+            var character = value.charAt(i);
+            if (character < 0x80) {
+                writeAsciiEscaped(character);
+            } else if (character == LINE_SEPARATOR || character == PARAGRAPH_SEPARATOR) {
+                writeUnicodeEscape(character);
+            } else if (character < 0x800) {
+                ensureCapacity(2);
+                bytes[size++] = (byte) (0xc0 | character >> 6);
+                bytes[size++] = (byte) (0x80 | character & 0x3f);
+            } else if (Character.isHighSurrogate(character) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                var codePoint = Character.toCodePoint(character, value.charAt(++i));
+                ensureCapacity(4);
+                bytes[size++] = (byte) (0xf0 | codePoint >> 18);
+                bytes[size++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                bytes[size++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                bytes[size++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(character)) {
+                writeByte('?');
+            } else {
+                ensureCapacity(3);
+                bytes[size++] = (byte) (0xe0 | character >> 12);
+                bytes[size++] = (byte) (0x80 | character >> 6 & 0x3f);
+                bytes[size++] = (byte) (0x80 | character & 0x3f);
+            }
+        }
+        writeByte('"');
+        return this;
+    }
+
+    private void writeAsciiEscaped(char character) {
+        switch (character) {
+            case '"' -> writeAscii("\\\"");
+            case '\\' -> writeAscii("\\\\");
+            case '\t' -> writeAscii("\\t");
+            case '\b' -> writeAscii("\\b");
+            case '\n' -> writeAscii("\\n");
+            case '\r' -> writeAscii("\\r");
+            case '\f' -> writeAscii("\\f");
+            case '<', '>', '&', '=', '\'' -> writeUnicodeEscape(character);
+            default -> {
+                if (character < 0x20) {
+                    writeUnicodeEscape(character);
+                } else {
+                    ensureCapacity(1);
+                    bytes[size++] = (byte) character;
+                }
+            }
+        }
+    }
+
+    private void writeUnicodeEscape(char character) {
+        ensureCapacity(6);
+        bytes[size++] = '\\';
+        bytes[size++] = 'u';
+        bytes[size++] = HEX[character >> 12 & 0xf];
+        bytes[size++] = HEX[character >> 8 & 0xf];
+        bytes[size++] = HEX[character >> 4 & 0xf];
+        bytes[size++] = HEX[character & 0xf];
+    }
+
+    // Appends the JSON held by another buffer as the content of a JSON string. The source is
+    // already escaped, so only quotes and backslashes need a second escape.
+    public JsonBuffer writeEscaped(JsonBuffer json) {
+        ensureCapacity(json.size);
+        for (var i = 0; i < json.size; i++) {
+            var value = json.bytes[i];
+            if (value == '"' || value == '\\') {
+                ensureCapacity(json.size - i + 1);
+                bytes[size++] = '\\';
+            }
+            bytes[size++] = value;
+        }
+        return this;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, 0, size, StandardCharsets.UTF_8);
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(bytes, 0, size);
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+
+// Writes an API Gateway proxy response whose body is a JSON array of employees, one row at
+// a time. Each row is serialized into a small buffer and escaped into the body string of the
+// envelope, and the envelope is flushed to the stream in fixed-size chunks, so memory use does
+// not grow with the number of rows.
+public class StreamingResponseWriter {
+
+    private static final int FLUSH_SIZE = 8 * 1024;
+
+    private static final String ENVELOPE_PREFIX =
+            "{\"statusCode\":200,\"headers\":{\"Content-Type\":\"application/json\"},\"isBase64Encoded\":false,\"body\":\"[";
+
+    private static final String ENVELOPE_SUFFIX = "]\"}";
+
+    private final OutputStream outputStream;
+
+    private final JsonBuffer buffer = new JsonBuffer(FLUSH_SIZE + 1024);
+
+    private final JsonBuffer row = new JsonBuffer(512);
+
+    private int rows;
+
+    private boolean committed;
+
+    public StreamingResponseWriter(OutputStream outputStream) {
+        this.outputStream = outputStream;
+        buffer.writeAscii(ENVELOPE_PREFIX);
+    }
+
+    public void write(UnicornEmployee unicornEmployee) {
+        if (rows++ > 0) {
+            buffer.writeByte(',');
+        }
+        StreamingUnicornJsonWriter.writeUnicornEmployee(unicornEmployee, row.reset());
+        buffer.writeEscaped(row);
+
+        if (buffer.size() >= FLUSH_SIZE) {
+            try {
+                flush();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+
+    public void finish() throws IOException {
+        buffer.writeAscii(ENVELOPE_SUFFIX);
+        flush();
+        outputStream.flush();
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    // Once part of the response has reached the stream, the status code can no longer change.
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    public static void writeResponse(OutputStream outputStream, int statusCode, String body) throws IOException {
+        var response = new JsonBuffer(256)
+                .writeAscii("{\"statusCode\":").writeInt(statusCode);
+        if (body != null) {
+            response.writeAscii(",\"body\":").writeString(body);
+        }
+        response.writeByte('}').writeTo(outputStream);
+        outputStream.flush();
+    }
+
+    private void flush() throws IOException {
+        buffer.writeTo(outputStream);
+        buffer.reset();
+        committed = true;
+    }
+
+}
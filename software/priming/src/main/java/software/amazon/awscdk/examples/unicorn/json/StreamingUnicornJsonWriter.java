@@ -0,0 +1,90 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.json;
+
+import java.util.List;
+
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+
+// Hand specialized writer for the model records: no reflection, no type adapters, and
+// the output is assembled in a per-thread buffer that is reused across invocations.
+public class StreamingUnicornJsonWriter implements UnicornJsonWriter {
+
+    private static final int INITIAL_CAPACITY = 4 * 1024;
+
+    private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+    private final ThreadLocal<JsonBuffer> buffers = ThreadLocal.withInitial(() -> new JsonBuffer(INITIAL_CAPACITY));
+
+    @Override
+    public String toJson(List<UnicornEmployee> unicornEmployees) {
+        var buffer = write(unicornEmployees);
+        var json = buffer.toString();
+        release(buffer);
+        return json;
+    }
+
+    @Override
+    public byte[] toJsonBytes(List<UnicornEmployee> unicornEmployees) {
+        var buffer = write(unicornEmployees);
+        var json = buffer.toByteArray();
+        release(buffer);
+        return json;
+    }
+
+    public static void writeUnicornEmployees(List<UnicornEmployee> unicornEmployees, JsonBuffer buffer) {
+        buffer.writeByte('[');
+        for (var i = 0; i < unicornEmployees.size(); i++) {
+            if (i > 0) {
+                buffer.writeByte(',');
+            }
+            writeUnicornEmployee(unicornEmployees.get(i), buffer);
+        }
+        buffer.writeByte(']');
+    }
+
+    // Field order and null handling follow Gson: record component order, null fields omitted.
+    public static void writeUnicornEmployee(UnicornEmployee unicornEmployee, JsonBuffer buffer) {
+        buffer.writeAscii("{\"employeeId\":").writeInt(unicornEmployee.employeeId());
+        writeField(buffer, "employeeName", unicornEmployee.employeeName());
+        writeField(buffer, "location", unicornEmployee.location());
+        writeField(buffer, "gender", unicornEmployee.gender());
+        writeField(buffer, "dateHired", unicornEmployee.dateHired());
+        writeField(buffer, "exemptStatus", unicornEmployee.exemptStatus());
+        buffer.writeByte('}');
+    }
+
+    private static void writeField(JsonBuffer buffer, String name, String value) {
+        if (value != null) {
+            buffer.writeAscii(",\"").writeAscii(name).writeAscii("\":").writeString(value);
+        }
+    }
+
+    private JsonBuffer write(List<UnicornEmployee> unicornEmployees) {
+        var buffer = buffers.get().reset();
+        writeUnicornEmployees(unicornEmployees, buffer);
+        return buffer;
+    }
+
+    private void release(JsonBuffer buffer) {
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            buffers.remove();
+        }
+    }
+
+}
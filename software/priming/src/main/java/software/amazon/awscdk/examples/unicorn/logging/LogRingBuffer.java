@@ -0,0 +1,247 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.logging;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.crac.Context;
+import org.crac.Resource;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MessageFormatter;
+
+// Multi-producer, single-consumer ring of pre-allocated entries. A logging call claims a
+// sequence number, stores references to its pattern and arguments in the entry and returns;
+// formatting and writing happen on the writer thread. The arguments are formatted when the
+// line is written, so they should not be mutated after the call.
+//
+// Before a checkpoint the writer drains the ring and stops, after a restore a new writer is
+// started. While there is no writer, lines are written by the calling thread, including the
+// ones claimed just before the writer stopped.
+final class LogRingBuffer implements Resource {
+
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private final Entry[] entries;
+
+    private final int mask;
+
+    private final PrintStream target;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final Object drainLock = new Object();
+
+    private volatile long head;
+
+    private volatile Thread writer;
+
+    private volatile boolean stopping;
+
+    private volatile boolean writerWaiting;
+
+    LogRingBuffer(int capacity, PrintStream target) {
+        var size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.entries = new Entry[size];
+        for (var i = 0; i < size; i++) {
+            entries[i] = new Entry();
+        }
+        this.mask = size - 1;
+        this.target = target;
+    }
+
+    void publish(Level level, String loggerName, String pattern, Object[] arguments, Throwable throwable) {
+        if (writer == null) {
+            synchronized (target) {
+                target.println(format(level, Thread.currentThread().getName(), loggerName, pattern, arguments,
+                        throwable, new StringBuilder()));
+            }
+            return;
+        }
+
+        var sequence = tail.getAndIncrement();
+        // The ring is full, wait for the writer instead of dropping the line.
+        while (sequence - head >= entries.length) {
+            if (writer == null) {
+                drainStopped();
+            } else {
+                wakeWriter();
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS / 100);
+        }
+
+        var entry = entries[(int) sequence & mask];
+        entry.level = level;
+        entry.threadName = Thread.currentThread().getName();
+        entry.loggerName = loggerName;
+        entry.pattern = pattern;
+        entry.arguments = arguments;
+        entry.throwable = throwable;
+        entry.published = sequence;
+
+        // The writer may have stopped after the line was claimed, then nobody else writes it.
+        if (writer == null) {
+            drainStopped();
+        } else if (writerWaiting) {
+            wakeWriter();
+        }
+    }
+
+    synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        stopping = false;
+        // No publisher is draining the ring by the time the new writer takes over.
+        synchronized (drainLock) {
+            writer = Thread.ofPlatform().name("log-ring-buffer").daemon().start(this::drain);
+        }
+    }
+
+    // Returns once every line published before the call has been written.
+    synchronized void stop() throws InterruptedException {
+        var current = writer;
+        if (current == null) {
+            return;
+        }
+        stopping = true;
+        LockSupport.unpark(current);
+        current.join();
+        writer = null;
+        drainStopped();
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) throws Exception {
+        stop();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        start();
+    }
+
+    private void drain() {
+        var line = new StringBuilder(256);
+
+        while (true) {
+            var sequence = head;
+            if (write(sequence, line)) {
+                continue;
+            }
+
+            if (stopping && sequence == tail.get()) {
+                target.flush();
+                return;
+            }
+            writerWaiting = true;
+            if (entries[(int) sequence & mask].published != sequence) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            writerWaiting = false;
+        }
+    }
+
+    // Writes the lines claimed while the writer was exiting, on the calling thread. It stops at a
+    // line that is still being published, its publisher sees there is no writer and drains again.
+    // It has its own lock: stop() holds the monitor while the writer waits for claimed lines.
+    private void drainStopped() {
+        synchronized (drainLock) {
+            if (writer != null) {
+                return;
+            }
+
+            var line = new StringBuilder(256);
+            while (head != tail.get()) {
+                if (!write(head, line)) {
+                    break;
+                }
+            }
+            target.flush();
+        }
+    }
+
+    private boolean write(long sequence, StringBuilder line) {
+        var entry = entries[(int) sequence & mask];
+        if (entry.published != sequence) {
+            return false;
+        }
+
+        line.setLength(0);
+        format(entry.level, entry.threadName, entry.loggerName, entry.pattern, entry.arguments,
+                entry.throwable, line);
+        entry.clear();
+        head = sequence + 1;
+
+        synchronized (target) {
+            target.println(line);
+        }
+        return true;
+    }
+
+    private void wakeWriter() {
+        var current = writer;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    // Same layout as slf4j-simple: [thread] LEVEL logger - message
+    private static StringBuilder format(Level level, String threadName, String loggerName, String pattern,
+            Object[] arguments, Throwable throwable, StringBuilder line) {
+        line.append('[').append(threadName).append("] ")
+                .append(level.name()).append(' ')
+                .append(loggerName).append(" - ")
+                .append(arguments == null ? pattern : MessageFormatter.basicArrayFormat(pattern, arguments));
+
+        if (throwable != null) {
+            var stackTrace = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(stackTrace));
+            line.append(System.lineSeparator()).append(stackTrace.toString().stripTrailing());
+        }
+        return line;
+    }
+
+    private static final class Entry {
+
+        private volatile long published = -1;
+
+        private Level level;
+
+        private String threadName;
+
+        private String loggerName;
+
+        private String pattern;
+
+        private Object[] arguments;
+
+        private Throwable throwable;
+
+        private void clear() {
+            pattern = null;
+            arguments = null;
+            throwable = null;
+        }
+
+    }
+
+}
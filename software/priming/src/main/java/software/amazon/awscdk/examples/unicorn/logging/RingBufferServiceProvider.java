@@ -0,0 +1,103 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.logging;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.crac.Core;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.IMarkerFactory;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.BasicMDCAdapter;
+import org.slf4j.helpers.BasicMarkerFactory;
+import org.slf4j.spi.MDCAdapter;
+import org.slf4j.spi.SLF4JServiceProvider;
+
+// SLF4J backend that hands log lines to a background writer through LogRingBuffer. It is not
+// registered as a service, so slf4j-simple stays the default, and is selected with
+//   -Dslf4j.provider=software.amazon.awscdk.examples.unicorn.logging.RingBufferServiceProvider
+// LOG_LEVEL (default info) sets the level of every logger and LOG_RING_BUFFER_SIZE (default
+// 8192) the number of entries. Like slf4j-simple it writes to stderr.
+public class RingBufferServiceProvider implements SLF4JServiceProvider, ILoggerFactory {
+
+    // Holds the ring buffer strongly, CRaC contexts may only keep weak references to resources.
+    private static LogRingBuffer ringBuffer;
+
+    private final ConcurrentMap<String, Logger> loggers = new ConcurrentHashMap<>();
+
+    private final IMarkerFactory markerFactory = new BasicMarkerFactory();
+
+    private final MDCAdapter mdcAdapter = new BasicMDCAdapter();
+
+    private Level level;
+
+    @Override
+    public void initialize() {
+        level = Level.valueOf(env("LOG_LEVEL", "info").toUpperCase(Locale.ROOT));
+
+        ringBuffer = new LogRingBuffer(Integer.parseInt(env("LOG_RING_BUFFER_SIZE", "8192")), System.err);
+        ringBuffer.start();
+
+        // Registered before any handler, so it is the last resource notified before the
+        // checkpoint and the first one after the restore.
+        Core.getGlobalContext().register(ringBuffer);
+
+        var shutdownRingBuffer = ringBuffer;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                shutdownRingBuffer.stop();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }, "log-ring-buffer-shutdown"));
+    }
+
+    @Override
+    public Logger getLogger(String name) {
+        return loggers.computeIfAbsent(name, key -> new RingBufferLogger(key, level, ringBuffer));
+    }
+
+    @Override
+    public ILoggerFactory getLoggerFactory() {
+        return this;
+    }
+
+    @Override
+    public IMarkerFactory getMarkerFactory() {
+        return markerFactory;
+    }
+
+    @Override
+    public MDCAdapter getMDCAdapter() {
+        return mdcAdapter;
+    }
+
+    @Override
+    public String getRequestedApiVersion() {
+        return "2.0.99";
+    }
+
+    private static String env(String name, String defaultValue) {
+        var value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+}
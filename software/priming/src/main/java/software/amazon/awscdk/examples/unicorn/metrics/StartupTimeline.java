@@ -0,0 +1,295 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+// Records the named phases of an init or a restore with System.nanoTime() and writes them as
+// one CloudWatch Embedded Metric Format record to stdout, where the Lambda log agent picks it
+// up. The init record is written at checkpoint, or after the first request when there is no
+// checkpoint. The restore record is written after the first request that follows the restore.
+public class StartupTimeline {
+
+    public static final String SPRING_CONTEXT_REFRESH = "SpringContextRefresh";
+
+    public static final String BEAN_CREATION = "BeanCreation";
+
+    public static final String CLASS_PRELOADING = "ClassPreloading";
+
+    public static final String PRIMING_INVOKE = "PrimingInvoke";
+
+    public static final String AFTER_RESTORE = "AfterRestore";
+
+    public static final String FIRST_INVOKE = "FirstInvoke";
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeline.class);
+
+    private static final String NAMESPACE = System.getenv().getOrDefault("STARTUP_METRICS_NAMESPACE", "UnicornPriming");
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getenv("STARTUP_METRICS_ENABLED"));
+
+    private static final AtomicInteger openPhases = new AtomicInteger();
+
+    private static final List<PhaseRecord> phases = new ArrayList<>();
+
+    // The init timeline starts with the JVM, not with the first recorded phase.
+    private static long originNanos = System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000;
+
+    private static String lifecycle = "init";
+
+    private static boolean emitted;
+
+    private static Resource lifecycleResource;
+
+    private static Resource restoreMarkerResource;
+
+    public static <E extends Exception> void time(String name, Action<E> action) throws E {
+        var phase = phase(name);
+        try {
+            action.run();
+        } finally {
+            phase.end();
+        }
+    }
+
+    public static <T, E extends Exception> T time(String name, Call<T, E> call) throws E {
+        var phase = phase(name);
+        try {
+            return call.call();
+        } finally {
+            phase.end();
+        }
+    }
+
+    // Requests sent by the priming code run inside another phase and are not counted.
+    public static <E extends Exception> void firstInvoke(Action<E> action) throws E {
+        var phase = firstInvokePhase();
+        try {
+            action.run();
+        } finally {
+            phase.end();
+        }
+    }
+
+    public static <T, E extends Exception> T firstInvoke(Call<T, E> call) throws E {
+        var phase = firstInvokePhase();
+        try {
+            return call.call();
+        } finally {
+            phase.end();
+        }
+    }
+
+    private static Phase phase(String name) {
+        openPhases.incrementAndGet();
+        return new Phase(name, System.nanoTime(), false);
+    }
+
+    private static synchronized Phase firstInvokePhase() {
+        if (emitted || openPhases.get() > 0) {
+            return Phase.NONE;
+        }
+        openPhases.incrementAndGet();
+        return new Phase(FIRST_INVOKE, System.nanoTime(), true);
+    }
+
+    public static synchronized void record(String name, long startNanos, long endNanos) {
+        phases.add(new PhaseRecord(name, startNanos, endNanos));
+    }
+
+    // Registered before the Spring context exists, so its checkpoint hook runs after every
+    // other one and its restore hook before every other one.
+    public static synchronized void registerLifecycleResource() {
+        if (lifecycleResource != null) {
+            return;
+        }
+
+        lifecycleResource = new Resource() {
+
+            @Override
+            public void beforeCheckpoint(Context<? extends Resource> context) {
+                emit();
+            }
+
+            @Override
+            public void afterRestore(Context<? extends Resource> context) {
+                begin("restore");
+            }
+
+        };
+        Core.getGlobalContext().register(lifecycleResource);
+    }
+
+    // Registered once the Spring context is running, so its restore hook runs after the Spring
+    // lifecycle beans have been restarted.
+    public static synchronized void registerRestoreMarker() {
+        if (restoreMarkerResource != null) {
+            return;
+        }
+
+        restoreMarkerResource = new Resource() {
+
+            @Override
+            public void beforeCheckpoint(Context<? extends Resource> context) {
+            }
+
+            @Override
+            public void afterRestore(Context<? extends Resource> context) {
+                synchronized (StartupTimeline.class) {
+                    record(AFTER_RESTORE, originNanos, System.nanoTime());
+                }
+            }
+
+        };
+        Core.getGlobalContext().register(restoreMarkerResource);
+    }
+
+    private static synchronized void begin(String newLifecycle) {
+        phases.clear();
+        originNanos = System.nanoTime();
+        lifecycle = newLifecycle;
+        emitted = false;
+    }
+
+    private static synchronized void emit() {
+        if (emitted) {
+            return;
+        }
+        emitted = true;
+
+        if (ENABLED) {
+            System.out.println(toEmf(System.nanoTime()));
+        }
+        log.info("startup timeline: lifecycle={}, phases={}", lifecycle, phases.size());
+    }
+
+    private static String toEmf(long nowNanos) {
+        var durations = new LinkedHashMap<String, Double>();
+        var timeline = new JsonArray();
+        for (var phase : phases) {
+            durations.merge(phase.name(), millis(phase.endNanos() - phase.startNanos()), Double::sum);
+
+            var entry = new JsonObject();
+            entry.addProperty("name", phase.name());
+            entry.addProperty("startMillis", millis(phase.startNanos() - originNanos));
+            entry.addProperty("durationMillis", millis(phase.endNanos() - phase.startNanos()));
+            timeline.add(entry);
+        }
+        durations.put("Total", millis(nowNanos - originNanos));
+
+        var metrics = new JsonArray();
+        var root = new JsonObject();
+        for (var duration : durations.entrySet()) {
+            var metric = new JsonObject();
+            metric.addProperty("Name", duration.getKey());
+            metric.addProperty("Unit", "Milliseconds");
+            metrics.add(metric);
+
+            root.addProperty(duration.getKey(), duration.getValue());
+        }
+
+        var dimensions = new JsonArray();
+        dimensions.add("FunctionName");
+        dimensions.add("Lifecycle");
+        var dimensionSets = new JsonArray();
+        dimensionSets.add(dimensions);
+
+        var directive = new JsonObject();
+        directive.addProperty("Namespace", NAMESPACE);
+        directive.add("Dimensions", dimensionSets);
+        directive.add("Metrics", metrics);
+        var directives = new JsonArray();
+        directives.add(directive);
+
+        var aws = new JsonObject();
+        aws.addProperty("Timestamp", System.currentTimeMillis());
+        aws.add("CloudWatchMetrics", directives);
+
+        root.add("_aws", aws);
+        root.addProperty("FunctionName", System.getenv().getOrDefault("AWS_LAMBDA_FUNCTION_NAME", "local"));
+        root.addProperty("Lifecycle", lifecycle);
+        root.add("phases", timeline);
+
+        return root.toString();
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    record PhaseRecord(String name, long startNanos, long endNanos) {
+    }
+
+    @FunctionalInterface
+    public interface Action<E extends Exception> {
+
+        void run() throws E;
+
+    }
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+
+        T call() throws E;
+
+    }
+
+    private static class Phase {
+
+        static final Phase NONE = new Phase(null, 0, false);
+
+        private final String name;
+
+        private final long startNanos;
+
+        private final boolean emitOnClose;
+
+        private Phase(String name, long startNanos, boolean emitOnClose) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.emitOnClose = emitOnClose;
+        }
+
+        void end() {
+            if (this == NONE) {
+                return;
+            }
+
+            openPhases.decrementAndGet();
+            record(name, startNanos, System.nanoTime());
+            if (emitOnClose) {
+                emit();
+            }
+        }
+
+    }
+
+}
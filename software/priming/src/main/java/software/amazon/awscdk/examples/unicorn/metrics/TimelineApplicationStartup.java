@@ -0,0 +1,126 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.metrics;
+
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+// Feeds the Spring startup steps into the StartupTimeline: the context refresh as it is, and
+// the bean instantiation steps summed up, counting nested instantiations only once.
+public class TimelineApplicationStartup implements ApplicationStartup {
+
+    private static final String CONTEXT_REFRESH = "spring.context.refresh";
+
+    private static final String BEANS_INSTANTIATE = "spring.beans.instantiate";
+
+    private long nextId;
+
+    private int beanDepth;
+
+    private long beanStartNanos;
+
+    private long firstBeanStartNanos;
+
+    private long beanNanos;
+
+    @Override
+    public synchronized StartupStep start(String name) {
+        var step = new TimedStep(this, nextId++, name, System.nanoTime());
+
+        if (BEANS_INSTANTIATE.equals(name) && beanDepth++ == 0) {
+            beanStartNanos = step.startNanos;
+            if (firstBeanStartNanos == 0) {
+                firstBeanStartNanos = beanStartNanos;
+            }
+        }
+
+        return step;
+    }
+
+    private synchronized void end(TimedStep step) {
+        var endNanos = System.nanoTime();
+
+        if (BEANS_INSTANTIATE.equals(step.name) && --beanDepth == 0) {
+            beanNanos += endNanos - beanStartNanos;
+        } else if (CONTEXT_REFRESH.equals(step.name)) {
+            StartupTimeline.record(StartupTimeline.SPRING_CONTEXT_REFRESH, step.startNanos, endNanos);
+            if (beanNanos > 0) {
+                StartupTimeline.record(StartupTimeline.BEAN_CREATION, firstBeanStartNanos,
+                        firstBeanStartNanos + beanNanos);
+            }
+        }
+    }
+
+    private static class TimedStep implements StartupStep {
+
+        private final TimelineApplicationStartup startup;
+
+        private final long id;
+
+        private final String name;
+
+        private final long startNanos;
+
+        private TimedStep(TimelineApplicationStartup startup, long id, String name, long startNanos) {
+            this.startup = startup;
+            this.id = id;
+            this.name = name;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getParentId() {
+            return null;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public StartupStep tag(String key, Supplier<String> value) {
+            return this;
+        }
+
+        @Override
+        public Tags getTags() {
+            return Collections::emptyIterator;
+        }
+
+        @Override
+        public void end() {
+            startup.end(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.model;
+
+import java.util.Map;
+
+public record PageRequest(int afterId, int pageSize) {
+
+    public static final int DEFAULT_PAGE_SIZE = 10;
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static final PageRequest FIRST = new PageRequest(0, DEFAULT_PAGE_SIZE);
+
+    public PageRequest {
+        if (afterId < 0) {
+            throw new IllegalArgumentException("afterId must not be negative: " + afterId);
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize must be between 1 and " + MAX_PAGE_SIZE + ": " + pageSize);
+        }
+    }
+
+    public static PageRequest from(Map<String, String> queryStringParameters) {
+        if (queryStringParameters == null || queryStringParameters.isEmpty()) {
+            return FIRST;
+        }
+
+        return new PageRequest(
+                parse(queryStringParameters, "afterId", 0),
+                parse(queryStringParameters, "pageSize", DEFAULT_PAGE_SIZE));
+    }
+
+    public String cacheKey() {
+        return "unicorns?afterId=" + afterId + "&pageSize=" + pageSize;
+    }
+
+    static int parse(Map<String, String> queryStringParameters, String name, int defaultValue) {
+        var value = queryStringParameters.get(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException(name + " must be a number: " + value);
+        }
+    }
+
+}
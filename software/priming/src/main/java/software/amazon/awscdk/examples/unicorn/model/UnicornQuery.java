@@ -0,0 +1,150 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.model;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// The read requests the handlers answer, parsed from the query string:
+//   employeeId=7                       one employee
+//   employeeIds=3,1,7                  up to MAX_IDS employees, ordered by id
+//   location=Texas&exemptStatus=TRUE   a filtered page, afterId and pageSize apply
+//   anything else                      a page of all employees
+public sealed interface UnicornQuery {
+
+    int MAX_IDS = PageRequest.MAX_PAGE_SIZE;
+
+    String cacheKey();
+
+    record Page(PageRequest pageRequest) implements UnicornQuery {
+
+        public static final Page FIRST = new Page(PageRequest.FIRST);
+
+        @Override
+        public String cacheKey() {
+            return pageRequest.cacheKey();
+        }
+
+    }
+
+    record ById(int employeeId) implements UnicornQuery {
+
+        @Override
+        public String cacheKey() {
+            return "unicorns?employeeId=" + employeeId;
+        }
+
+    }
+
+    // The ids are sorted and distinct.
+    record ByIds(int[] employeeIds) implements UnicornQuery {
+
+        @Override
+        public String cacheKey() {
+            return Arrays.stream(employeeIds)
+                    .mapToObj(Integer::toString)
+                    .collect(Collectors.joining(",", "unicorns?employeeIds=", ""));
+        }
+
+    }
+
+    // A null location or exempt status matches any value. The location is free text and is
+    // encoded in the cache key, so a value containing & or = cannot pose as other parameters.
+    record Filter(String location, String exemptStatus, PageRequest pageRequest) implements UnicornQuery {
+
+        @Override
+        public String cacheKey() {
+            var encodedLocation = location != null ? URLEncoder.encode(location, StandardCharsets.UTF_8) : "";
+            return "unicorns?location=" + encodedLocation
+                    + "&exemptStatus=" + (exemptStatus != null ? exemptStatus : "")
+                    + "&afterId=" + pageRequest.afterId() + "&pageSize=" + pageRequest.pageSize();
+        }
+
+    }
+
+    static UnicornQuery from(Map<String, String> queryStringParameters) {
+        if (queryStringParameters == null || queryStringParameters.isEmpty()) {
+            return Page.FIRST;
+        }
+
+        if (queryStringParameters.containsKey("employeeId")) {
+            return new ById(PageRequest.parse(queryStringParameters, "employeeId", 0));
+        }
+
+        var employeeIds = queryStringParameters.get("employeeIds");
+        if (employeeIds != null) {
+            return new ByIds(parseIds(employeeIds));
+        }
+
+        var location = value(queryStringParameters, "location");
+        var exemptStatus = value(queryStringParameters, "exemptStatus");
+        if (location != null || exemptStatus != null) {
+            if (exemptStatus != null) {
+                exemptStatus = exemptStatus.toUpperCase(Locale.ROOT);
+                if (!exemptStatus.equals("TRUE") && !exemptStatus.equals("FALSE")) {
+                    throw new IllegalArgumentException("exemptStatus must be TRUE or FALSE: " + exemptStatus);
+                }
+            }
+            return new Filter(location, exemptStatus, PageRequest.from(queryStringParameters));
+        }
+
+        return new Page(PageRequest.from(queryStringParameters));
+    }
+
+    private static int[] parseIds(String value) {
+        var parts = value.split(",");
+        if (parts.length > MAX_IDS) {
+            throw new IllegalArgumentException("employeeIds must not have more than " + MAX_IDS + " ids");
+        }
+
+        var ids = new int[parts.length];
+        var count = 0;
+        for (var part : parts) {
+            if (part.isBlank()) {
+                continue;
+            }
+            try {
+                ids[count++] = Integer.parseInt(part.trim());
+            } catch (NumberFormatException exception) {
+                throw new IllegalArgumentException("employeeIds must be numbers: " + value);
+            }
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("employeeIds must not be empty");
+        }
+
+        Arrays.sort(ids, 0, count);
+        var distinct = 1;
+        for (var i = 1; i < count; i++) {
+            if (ids[i] != ids[distinct - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, distinct);
+    }
+
+    private static String value(Map<String, String> queryStringParameters, String name) {
+        var value = queryStringParameters.get(name);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+}
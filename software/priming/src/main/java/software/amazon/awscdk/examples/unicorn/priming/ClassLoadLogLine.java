@@ -0,0 +1,53 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.priming;
+
+public record ClassLoadLogLine(String className, String source) {
+
+    private static final String CLASS_LOAD_TAG = "[class,load] ";
+
+    private static final String SOURCE_TAG = " source: ";
+
+    public static ClassLoadLogLine parse(String line) {
+        var index1 = line.indexOf(CLASS_LOAD_TAG);
+        var index2 = line.indexOf(SOURCE_TAG);
+
+        if (index1 < 0 || index2 < 0) {
+            return null;
+        }
+
+        return new ClassLoadLogLine(line.substring(index1 + CLASS_LOAD_TAG.length(), index2),
+                line.substring(index2 + SOURCE_TAG.length()));
+    }
+
+    // Classes mapped from the CDS archive are already available after startup.
+    public boolean isShared() {
+        return source.startsWith("shared objects file");
+    }
+
+    // Hidden classes, lambda forms and dynamic proxies are defined at runtime and
+    // cannot be loaded by name.
+    public boolean isRuntimeDefined() {
+        return source.startsWith("__") || className.indexOf('/') >= 0;
+    }
+
+    public boolean isPrimable() {
+        return !isShared() && !isRuntimeDefined();
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.priming;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Drives a code path repeatedly until the JIT compilers go quiet, so that the hot methods
+// are compiled (ideally by C2) before the snapshot is taken.
+public class JitWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(JitWarmup.class);
+
+    private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+
+    private static final int BATCH_SIZE = 50;
+
+    private static final int QUIET_BATCHES = 3;
+
+    private static final int TIER_C2 = 4;
+
+    private final int maxIterations;
+
+    private final long budgetMillis;
+
+    private final List<String> reportedPackages;
+
+    public JitWarmup(int maxIterations, long budgetMillis, List<String> reportedPackages) {
+        this.maxIterations = maxIterations;
+        this.budgetMillis = budgetMillis;
+        this.reportedPackages = reportedPackages;
+    }
+
+    public static JitWarmup fromEnvironment() {
+        return new JitWarmup(
+                Integer.parseInt(getenv("JIT_WARMUP_ITERATIONS", "2000")),
+                Long.parseLong(getenv("JIT_WARMUP_BUDGET_MILLIS", "5000")),
+                Arrays.stream(getenv("JIT_WARMUP_PACKAGES",
+                        "software.amazon.awscdk.examples.unicorn,com.google.gson,com.amazonaws.services.lambda")
+                        .split(","))
+                        .map(String::trim)
+                        .toList());
+    }
+
+    public Report run(Runnable hotPath) {
+        log.info("run->started");
+
+        var compilationMXBean = ManagementFactory.getCompilationMXBean();
+        var monitoring = compilationMXBean.isCompilationTimeMonitoringSupported();
+        var startTime = System.nanoTime();
+        var deadline = startTime + budgetMillis * 1_000_000;
+        var lastCompilationTime = monitoring ? compilationMXBean.getTotalCompilationTime() : 0;
+        var quietBatches = 0;
+        var iterations = 0;
+
+        while (iterations < maxIterations && System.nanoTime() < deadline) {
+            for (var batch = 0; batch < BATCH_SIZE && iterations < maxIterations; batch++, iterations++) {
+                hotPath.run();
+            }
+
+            // The compilers are considered done once the total compilation time stops growing
+            // and both compile queues are empty for a few consecutive batches.
+            var compilationTime = monitoring ? compilationMXBean.getTotalCompilationTime() : 0;
+            if (compilationTime == lastCompilationTime && compileQueuesEmpty()) {
+                quietBatches++;
+                if (quietBatches >= QUIET_BATCHES) {
+                    break;
+                }
+            } else {
+                quietBatches = 0;
+            }
+            lastCompilationTime = compilationTime;
+        }
+
+        var report = new Report(iterations,
+                (System.nanoTime() - startTime) / 1_000_000,
+                monitoring ? compilationMXBean.getTotalCompilationTime() : -1,
+                quietBatches >= QUIET_BATCHES);
+        collectTiers(report);
+
+        log.info("jit warm-up: iterations={}, durationMillis={}, totalCompilationMillis={}, quiescent={}, methodsByTier={}",
+                report.iterations(), report.durationMillis(), report.totalCompilationMillis(), report.quiescent(),
+                report.methodsByTier());
+        log.debug("jit warm-up: C2 compiled methods {}", report.c2Methods());
+        log.info("run->finished");
+
+        return report;
+    }
+
+    private boolean compileQueuesEmpty() {
+        var compilerQueue = diagnosticCommand("compilerQueue");
+        if (compilerQueue == null) {
+            return true;
+        }
+
+        // Queued tasks are listed as "<id> <level> ... <method>" lines below each queue header.
+        return compilerQueue.lines()
+                .map(String::trim)
+                .noneMatch(line -> !line.isEmpty() && Character.isDigit(line.charAt(0)));
+    }
+
+    private void collectTiers(Report report) {
+        var codelist = diagnosticCommand("compilerCodelist");
+        if (codelist == null) {
+            return;
+        }
+
+        // Each line reads "<compile id> <tier> <state> <method signature> [<addresses>]".
+        codelist.lines().forEach(line -> {
+            var fields = line.trim().split(" ", 5);
+            if (fields.length < 4 || !isReported(fields[3])) {
+                return;
+            }
+
+            int tier;
+            try {
+                tier = Integer.parseInt(fields[1]);
+            } catch (NumberFormatException exception) {
+                return;
+            }
+
+            report.methodsByTier().merge(tier, 1, Integer::sum);
+            if (tier == TIER_C2) {
+                report.c2Methods().add(fields[3]);
+            }
+        });
+    }
+
+    private boolean isReported(String method) {
+        for (var reportedPackage : reportedPackages) {
+            if (method.startsWith(reportedPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String diagnosticCommand(String operation) {
+        try {
+            return (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName(DIAGNOSTIC_COMMAND),
+                    operation,
+                    new Object[] { new String[0] },
+                    new String[] { String[].class.getName() });
+        } catch (JMException | RuntimeException exception) {
+            log.warn("Diagnostic command {} is not available: {}", operation, exception.getMessage());
+            return null;
+        }
+    }
+
+    private static String getenv(String name, String defaultValue) {
+        var value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    public record Report(int iterations, long durationMillis, long totalCompilationMillis, boolean quiescent,
+            Map<Integer, Integer> methodsByTier, List<String> c2Methods) {
+
+        Report(int iterations, long durationMillis, long totalCompilationMillis, boolean quiescent) {
+            this(iterations, durationMillis, totalCompilationMillis, quiescent, new TreeMap<>(), new ArrayList<>());
+        }
+
+    }
+
+}
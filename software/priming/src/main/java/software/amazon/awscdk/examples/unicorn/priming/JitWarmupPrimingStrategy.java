@@ -0,0 +1,49 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.priming;
+
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+
+import software.amazon.awscdk.examples.unicorn.response.UnicornResponseFactory;
+
+// Loops over the database-free part of a request. The invoke strategy covers the rest with a
+// single request.
+@Component
+public class JitWarmupPrimingStrategy implements PrimingStrategy {
+
+    private final UnicornResponseFactory responseFactory;
+
+    public JitWarmupPrimingStrategy(UnicornResponseFactory responseFactory) {
+        this.responseFactory = responseFactory;
+    }
+
+    @Override
+    public String name() {
+        return "jit";
+    }
+
+    @Override
+    public void prime(PrimingContext context) {
+        var event = APIGatewayV2HTTPEvent.builder().build();
+
+        JitWarmup.fromEnvironment().run(() -> SamplePage.render(event, responseFactory));
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.priming;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Binary class priming index produced at build time by PrimingIndexCompiler.
+ *
+ * Layout (big-endian):
+ *   int    magic ("PRIX")
+ *   short  version
+ *   short  maximum class name length, in bytes
+ *   int    group count
+ *   int    entry count
+ *   groups:  short source length, source bytes (UTF-8), int first entry, int entry count
+ *   entries: byte flags, short name length, name bytes (UTF-8)
+ *
+ * Entries are deduplicated and kept in load order, each group is a run of consecutive entries
+ * loaded from the same source.
+ */
+public class PrimingIndex {
+
+    public static final String FILE_NAME = "classes-loaded.idx";
+
+    public static final int MAGIC = 0x50524958;
+
+    public static final short VERSION = 1;
+
+    public static final int FLAG_MISSING = 0x01;
+
+    public static final int FLAG_FAILED = 0x02;
+
+    private final ByteBuffer buffer;
+
+    private final int maximumNameLength;
+
+    private final int groupCount;
+
+    private final int entryCount;
+
+    private final int entriesOffset;
+
+    private PrimingIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+
+        var magic = buffer.getInt(0);
+        var version = buffer.getShort(4);
+        if (magic != MAGIC) {
+            throw new IllegalStateException("Not a priming index, magic: 0x%08x".formatted(magic));
+        }
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported priming index version: %d".formatted(version));
+        }
+
+        this.maximumNameLength = Short.toUnsignedInt(buffer.getShort(6));
+        this.groupCount = buffer.getInt(8);
+        this.entryCount = buffer.getInt(12);
+
+        var offset = 16;
+        for (var group = 0; group < groupCount; group++) {
+            offset += Short.BYTES + Short.toUnsignedInt(buffer.getShort(offset)) + Integer.BYTES * 2;
+        }
+        this.entriesOffset = offset;
+    }
+
+    public static PrimingIndex open() throws IOException {
+        return open(Paths.get(FILE_NAME));
+    }
+
+    // Lambda extracts the deployment package into the task root, so the index is usually
+    // available as a plain file that can be mapped; the class path is the fallback.
+    public static PrimingIndex open(Path path) throws IOException {
+        if (Files.isRegularFile(path)) {
+            try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return new PrimingIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+
+        try (InputStream inputStream = PrimingIndex.class.getClassLoader().getResourceAsStream(FILE_NAME)) {
+            if (inputStream == null) {
+                throw new IOException("Priming index %s not found".formatted(FILE_NAME));
+            }
+            return new PrimingIndex(ByteBuffer.wrap(inputStream.readAllBytes()));
+        }
+    }
+
+    public int groupCount() {
+        return groupCount;
+    }
+
+    public int entryCount() {
+        return entryCount;
+    }
+
+    // Flagged entries are skipped without decoding, and names are decoded through a single
+    // scratch buffer, so the only allocation per primable class is its name.
+    public int forEachPrimable(ClassNameConsumer consumer) {
+        var scratch = new byte[maximumNameLength];
+        var skipped = 0;
+        var offset = entriesOffset;
+
+        for (var entry = 0; entry < entryCount; entry++) {
+            var flags = buffer.get(offset);
+            var length = Short.toUnsignedInt(buffer.getShort(offset + 1));
+            offset += 1 + Short.BYTES;
+
+            if (flags == 0) {
+                buffer.get(offset, scratch, 0, length);
+                consumer.accept(new String(scratch, 0, length, StandardCharsets.UTF_8));
+            } else {
+                skipped++;
+            }
+
+            offset += length;
+        }
+
+        return skipped;
+    }
+
+    @FunctionalInterface
+    public interface ClassNameConsumer {
+
+        void accept(String className);
+
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.priming;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Compiles the raw -Xlog:class+load output into a PrimingIndex. Runs during the build
+// (see the exec-maven-plugin execution in pom.xml) with the module runtime class path, so
+// classes that cannot be found or linked are flagged before the list ever reaches Lambda.
+public class PrimingIndexCompiler {
+
+    private static final Logger log = LoggerFactory.getLogger(PrimingIndexCompiler.class);
+
+    public static void main(String... arguments) throws IOException {
+        if (arguments.length < 2) {
+            throw new IllegalArgumentException(
+                    "Usage: PrimingIndexCompiler <classes-loaded.txt> <classes-loaded.idx> [maxMissingPercent]");
+        }
+
+        var input = Paths.get(arguments[0]);
+        var output = Paths.get(arguments[1]);
+        var maxMissingPercent = arguments.length > 2 ? Double.parseDouble(arguments[2]) : 100d;
+
+        var result = compile(input, output);
+
+        log.info("Priming index {}: groups={}, entries={}, missing={}, failed={}, skipped={}",
+                output, result.groups(), result.entries(), result.missing(), result.failed(), result.skipped());
+
+        var missingPercent = result.entries() == 0 ? 0d : 100d * result.missing() / result.entries();
+        if (missingPercent > maxMissingPercent) {
+            throw new IllegalStateException(
+                    "%.1f%% of the classes in %s are missing from the class path (maximum %.1f%%), regenerate the list"
+                            .formatted(missingPercent, input, maxMissingPercent));
+        }
+    }
+
+    public static Result compile(Path input, Path output) throws IOException {
+        // Keeps the first load of every class, in load order.
+        var sourceByClassName = new LinkedHashMap<String, String>();
+        var skipped = 0;
+
+        try (var lines = Files.lines(input)) {
+            for (var line : (Iterable<String>) lines::iterator) {
+                var logLine = ClassLoadLogLine.parse(line);
+                if (logLine == null) {
+                    if (line.contains("[class,load] ") && !line.contains("[class,load] opened: ")) {
+                        throw new IllegalStateException("Malformed class load line: %s".formatted(line));
+                    }
+                    continue;
+                }
+                if (!logLine.isPrimable()) {
+                    skipped++;
+                    continue;
+                }
+                sourceByClassName.putIfAbsent(logLine.className(), logLine.source());
+            }
+        }
+
+        var classLoader = Thread.currentThread().getContextClassLoader();
+        var groups = new ArrayList<Group>();
+        var entries = new ArrayList<Entry>();
+        var missing = 0;
+        var failed = 0;
+
+        // A group is a run of consecutive classes from the same source, so a source can appear in
+        // several groups and the entries stay in the order the classes were loaded.
+        String groupSource = null;
+        var groupStart = 0;
+        for (var classSource : sourceByClassName.entrySet()) {
+            var className = classSource.getKey();
+            if (!classSource.getValue().equals(groupSource)) {
+                if (groupSource != null) {
+                    groups.add(new Group(groupSource, groupStart, entries.size() - groupStart));
+                }
+                groupSource = classSource.getValue();
+                groupStart = entries.size();
+            }
+
+            var flags = 0;
+            try {
+                Class.forName(className, false, classLoader);
+            } catch (ClassNotFoundException exception) {
+                flags = PrimingIndex.FLAG_MISSING;
+                missing++;
+                log.debug("Missing class: {}", className);
+            } catch (LinkageError error) {
+                flags = PrimingIndex.FLAG_FAILED;
+                failed++;
+                log.debug("Failed class: {} ({})", className, error.toString());
+            }
+            entries.add(new Entry(className.getBytes(StandardCharsets.UTF_8), flags));
+        }
+        if (groupSource != null) {
+            groups.add(new Group(groupSource, groupStart, entries.size() - groupStart));
+        }
+
+        write(output, groups, entries);
+
+        return new Result(groups.size(), entries.size(), missing, failed, skipped);
+    }
+
+    private static void write(Path output, List<Group> groups, List<Entry> entries) throws IOException {
+        var maximumNameLength = entries.stream().mapToInt(entry -> entry.name().length).max().orElse(0);
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (var dataOutputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+            dataOutputStream.writeInt(PrimingIndex.MAGIC);
+            dataOutputStream.writeShort(PrimingIndex.VERSION);
+            dataOutputStream.writeShort(maximumNameLength);
+            dataOutputStream.writeInt(groups.size());
+            dataOutputStream.writeInt(entries.size());
+
+            for (var group : groups) {
+                var source = group.source().getBytes(StandardCharsets.UTF_8);
+                dataOutputStream.writeShort(source.length);
+                dataOutputStream.write(source);
+                dataOutputStream.writeInt(group.firstEntry());
+                dataOutputStream.writeInt(group.entryCount());
+            }
+
+            for (var entry : entries) {
+                dataOutputStream.writeByte(entry.flags());
+                dataOutputStream.writeShort(entry.name().length);
+                dataOutputStream.write(entry.name());
+            }
+        }
+    }
+
+    public record Result(int groups, int entries, int missing, int failed, int skipped) {
+    }
+
+    private record Group(String source, int firstEntry, int entryCount) {
+    }
+
+    private record Entry(byte[] name, int flags) {
+    }
+
+}
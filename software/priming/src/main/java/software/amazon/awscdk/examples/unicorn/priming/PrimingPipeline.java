@@ -0,0 +1,99 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.priming;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import software.amazon.awscdk.examples.unicorn.metrics.StartupTimeline;
+
+@Component
+public class PrimingPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(PrimingPipeline.class);
+
+    private final Map<String, PrimingStrategy> strategies;
+
+    public PrimingPipeline(List<PrimingStrategy> strategies) {
+        this.strategies = strategies.stream()
+                .collect(Collectors.toMap(PrimingStrategy::name, Function.identity()));
+    }
+
+    public List<PrimingStrategy> resolve(String configuration) {
+        if (configuration == null || configuration.isBlank()) {
+            return List.of();
+        }
+
+        return Arrays.stream(configuration.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> {
+                    var strategy = strategies.get(name);
+                    if (strategy == null) {
+                        throw new IllegalArgumentException("Unknown priming strategy '%s', available: %s"
+                                .formatted(name, strategies.keySet()));
+                    }
+                    return strategy;
+                })
+                .toList();
+    }
+
+    public List<PrimingPhaseResult> run(List<PrimingStrategy> phases, PrimingContext context) throws Exception {
+        log.info("run->started");
+
+        var classLoadingMXBean = ManagementFactory.getClassLoadingMXBean();
+        var results = new ArrayList<PrimingPhaseResult>(phases.size());
+
+        for (var phase : phases) {
+            var classesBefore = classLoadingMXBean.getTotalLoadedClassCount();
+            var startTime = System.nanoTime();
+
+            StartupTimeline.time(timelinePhase(phase.name()), () -> phase.prime(context));
+
+            var result = new PrimingPhaseResult(phase.name(),
+                    (System.nanoTime() - startTime) / 1_000_000,
+                    classLoadingMXBean.getTotalLoadedClassCount() - classesBefore);
+            results.add(result);
+
+            log.info("priming phase: name={}, durationMillis={}, classesLoaded={}",
+                    result.name(), result.durationMillis(), result.classesLoaded());
+        }
+
+        log.info("run->finished");
+
+        return results;
+    }
+
+    private static String timelinePhase(String name) {
+        return switch (name) {
+            case "classes" -> StartupTimeline.CLASS_PRELOADING;
+            case "invoke" -> StartupTimeline.PRIMING_INVOKE;
+            default -> "Priming" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        };
+    }
+
+}
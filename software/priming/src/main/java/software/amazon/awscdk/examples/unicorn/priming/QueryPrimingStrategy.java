@@ -0,0 +1,52 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.priming;
+
+import javax.sql.DataSource;
+
+import org.springframework.stereotype.Component;
+
+import software.amazon.awscdk.examples.unicorn.repository.PrimingQueryRegistry;
+
+// Runs every registered repository query, not only the one behind the default request, often
+// enough for pgjdbc to promote it to a server-side prepared statement. The statements do not
+// survive the checkpoint, the data source lifecycle prepares them again after the restore, but
+// this phase leaves the driver code for all of them compiled in the snapshot.
+@Component
+public class QueryPrimingStrategy implements PrimingStrategy {
+
+    private final DataSource dataSource;
+
+    private final PrimingQueryRegistry primingQueryRegistry;
+
+    public QueryPrimingStrategy(DataSource dataSource, PrimingQueryRegistry primingQueryRegistry) {
+        this.dataSource = dataSource;
+        this.primingQueryRegistry = primingQueryRegistry;
+    }
+
+    @Override
+    public String name() {
+        return "queries";
+    }
+
+    @Override
+    public void prime(PrimingContext context) throws Exception {
+        primingQueryRegistry.prime(dataSource);
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.priming;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+
+import software.amazon.awscdk.examples.unicorn.model.PageRequest;
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+import software.amazon.awscdk.examples.unicorn.model.UnicornQuery;
+import software.amazon.awscdk.examples.unicorn.response.UnicornResponseFactory;
+
+// A full first page that does not come from the database, for the priming that exercises the
+// response path. Rendering it skips the response cache, so nothing primed is served later.
+public final class SamplePage {
+
+    public static final List<UnicornEmployee> EMPLOYEES = IntStream.rangeClosed(1, PageRequest.DEFAULT_PAGE_SIZE)
+            .mapToObj(employeeId -> new UnicornEmployee(employeeId, "Priming Unicorn " + employeeId,
+                    employeeId % 2 == 0 ? "Washington" : "Oregon", employeeId % 2 == 0 ? "Female" : "Male",
+                    "1/%d/24".formatted(employeeId), employeeId % 3 == 0 ? "TRUE" : "FALSE"))
+            .toList();
+
+    private SamplePage() {
+    }
+
+    // The steps of a request that do not touch the database: parsing the query, serializing the
+    // page with the configured writer and building the response with its ETag.
+    public static APIGatewayV2HTTPResponse render(APIGatewayV2HTTPEvent event,
+            UnicornResponseFactory responseFactory) {
+        UnicornQuery.from(event.getQueryStringParameters());
+        return responseFactory.render(event, EMPLOYEES);
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import software.amazon.awscdk.examples.unicorn.model.PageRequest;
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+
+// The find methods log failures and return an empty list, the forEach methods throw.
+public interface EmployeeRepository extends PrimingQuerySource {
+
+    List<UnicornEmployee> findAll();
+
+    List<UnicornEmployee> findPage(PageRequest pageRequest);
+
+    List<UnicornEmployee> findById(int employeeId);
+
+    List<UnicornEmployee> findByIds(int[] employeeIds);
+
+    List<UnicornEmployee> findFiltered(String location, String exemptStatus, PageRequest pageRequest);
+
+    void forEachInPage(PageRequest pageRequest, Consumer<UnicornEmployee> consumer);
+
+    // Streams the employees with the lowest ids, without the page size limit.
+    void forEachUpTo(int limit, Consumer<UnicornEmployee> consumer);
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.repository;
+
+import static software.amazon.awscdk.examples.unicorn.repository.UnicornEmployeeSql.FETCH_SIZE;
+import static software.amazon.awscdk.examples.unicorn.repository.UnicornEmployeeSql.FIND_ALL_SQL;
+import static software.amazon.awscdk.examples.unicorn.repository.UnicornEmployeeSql.FIND_BY_IDS_SQL;
+import static software.amazon.awscdk.examples.unicorn.repository.UnicornEmployeeSql.FIND_BY_ID_SQL;
+import static software.amazon.awscdk.examples.unicorn.repository.UnicornEmployeeSql.FIND_FILTERED_SQL;
+import static software.amazon.awscdk.examples.unicorn.repository.UnicornEmployeeSql.FIND_PAGE_SQL;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awscdk.examples.unicorn.model.PageRequest;
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+
+// The UnicornRepository queries on plain PreparedStatements, for the handler that runs
+// without Spring.
+public class JdbcUnicornRepository implements EmployeeRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcUnicornRepository.class);
+
+    private final DataSource dataSource;
+
+    public JdbcUnicornRepository(DataSource dataSource) {
+        log.info("JdbcUnicornRepository->started");
+        this.dataSource = dataSource;
+        log.info("JdbcUnicornRepository->finished");
+    }
+
+    @Override
+    public List<UnicornEmployee> findAll() {
+        return query("findAll", FIND_ALL_SQL, 10);
+    }
+
+    @Override
+    public List<UnicornEmployee> findPage(PageRequest pageRequest) {
+        return query("findPage", FIND_PAGE_SQL, pageRequest.pageSize(), pageRequest.afterId(),
+                pageRequest.pageSize());
+    }
+
+    @Override
+    public List<UnicornEmployee> findById(int employeeId) {
+        return query("findById", FIND_BY_ID_SQL, 1, employeeId);
+    }
+
+    // pgjdbc binds an int[] as an int4[] array without boxing the ids.
+    @Override
+    public List<UnicornEmployee> findByIds(int[] employeeIds) {
+        return query("findByIds", FIND_BY_IDS_SQL, employeeIds.length, (Object) employeeIds);
+    }
+
+    @Override
+    public List<UnicornEmployee> findFiltered(String location, String exemptStatus, PageRequest pageRequest) {
+        return query("findFiltered", FIND_FILTERED_SQL, pageRequest.pageSize(),
+                UnicornEmployeeSql.filterArgs(location, exemptStatus, pageRequest));
+    }
+
+    @Override
+    public void forEachInPage(PageRequest pageRequest, Consumer<UnicornEmployee> consumer) {
+        forEach(FIND_PAGE_SQL, pageRequest.pageSize(), consumer, pageRequest.afterId(), pageRequest.pageSize());
+    }
+
+    @Override
+    public void forEachUpTo(int limit, Consumer<UnicornEmployee> consumer) {
+        forEach(FIND_PAGE_SQL, limit, consumer, 0, limit);
+    }
+
+    @Override
+    public List<PrimingQuery> primingQueries() {
+        return UnicornEmployeeSql.primingQueries();
+    }
+
+    // Like the JdbcTemplate repository, a missing table (SQL state class 42) reads as empty
+    // without an error in the log.
+    private List<UnicornEmployee> query(String name, String sql, int limit, Object... args) {
+        log.info("{}->started", name);
+
+        var unicornEmployees = new ArrayList<UnicornEmployee>(limit);
+
+        try (var connection = dataSource.getConnection()) {
+            execute(connection, sql, limit, unicornEmployees::add, args);
+        } catch (SQLException exception) {
+            if (exception.getSQLState() == null || !exception.getSQLState().startsWith("42")) {
+                log.error("{}->error: {}", name, exception.getMessage());
+            }
+            unicornEmployees.clear();
+        }
+
+        log.info("{}->finished", name);
+
+        return unicornEmployees;
+    }
+
+    // The PostgreSQL driver only honours the fetch size inside a transaction, otherwise it
+    // buffers the whole result set before returning the first row.
+    private void forEach(String sql, int limit, Consumer<UnicornEmployee> consumer, Object... args) {
+        try (var connection = dataSource.getConnection()) {
+            var autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try {
+                execute(connection, sql, limit, consumer, args);
+                connection.commit();
+            } catch (SQLException | RuntimeException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException(exception.getMessage(), exception);
+        }
+    }
+
+    private static void execute(Connection connection, String sql, int limit, Consumer<UnicornEmployee> consumer,
+            Object... args) throws SQLException {
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setFetchSize(Math.min(FETCH_SIZE, limit));
+            for (var i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    consumer.accept(UnicornEmployeeSql.mapRow(resultSet));
+                }
+            }
+        }
+    }
+
+}
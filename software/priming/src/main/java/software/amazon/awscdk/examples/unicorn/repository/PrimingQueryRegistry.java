@@ -0,0 +1,103 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Runs the priming queries of every repository on a connection. pgjdbc keeps a prepared
+// statement unnamed until it has been executed prepareThreshold times on the same connection
+// (5 by default), and only then parses and plans it once as a named server-side statement.
+// Running each query that many times leaves the connection with named statements for all of
+// them, so the first requests skip the parse and plan steps. Server-side statements live as
+// long as their connection, so this has to run again on the connections opened after a
+// restore.
+@Component
+public class PrimingQueryRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(PrimingQueryRegistry.class);
+
+    private final List<PrimingQuery> queries;
+
+    public PrimingQueryRegistry(List<PrimingQuerySource> sources) {
+        this.queries = sources.stream()
+                .flatMap(source -> source.primingQueries().stream())
+                .toList();
+    }
+
+    public List<PrimingQuery> queries() {
+        return queries;
+    }
+
+    public void prime(DataSource dataSource) throws SQLException {
+        try (var connection = dataSource.getConnection()) {
+            prime(connection);
+        }
+    }
+
+    public void prime(Connection connection) throws SQLException {
+        log.info("prime->started");
+
+        var executions = executions(connection);
+        var failed = 0;
+
+        for (var query : queries) {
+            try {
+                for (var i = 0; i < executions; i++) {
+                    execute(connection, query);
+                }
+            } catch (SQLException exception) {
+                failed++;
+                log.error("prime->error: query={}, {}", query.name(), exception.getMessage());
+            }
+        }
+
+        log.info("prime->finished: queries={}, executions={}, failed={}", queries.size(), executions, failed);
+    }
+
+    private static void execute(Connection connection, PrimingQuery query) throws SQLException {
+        try (var statement = connection.prepareStatement(query.sql())) {
+            for (var i = 0; i < query.args().length; i++) {
+                statement.setObject(i + 1, query.args()[i]);
+            }
+
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    // Reading the rows is part of the path being warmed up.
+                }
+            }
+        }
+    }
+
+    // A threshold of 0 turns server-side statements off, one run then still warms the driver.
+    private static int executions(Connection connection) throws SQLException {
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return Math.max(1, connection.unwrap(PGConnection.class).getPrepareThreshold());
+        }
+        return 1;
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import software.amazon.awscdk.examples.unicorn.model.PageRequest;
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+
+// The statements and the row mapping shared by the JdbcTemplate and the plain JDBC
+// repository. It must not reference Spring types, the Spring-free handler loads it.
+final class UnicornEmployeeSql {
+
+    private static final String COLUMNS =
+            "\"EmployeeId\", \"EmployeeName\", \"Location\", \"Gender\", \"DateHired\", \"ExemptStatus\"";
+
+    static final String FIND_ALL_SQL =
+            "SELECT " + COLUMNS + " FROM UnicornEmployee ORDER BY \"EmployeeId\" ASC LIMIT 10";
+
+    static final String FIND_PAGE_SQL =
+            "SELECT " + COLUMNS + " FROM UnicornEmployee WHERE \"EmployeeId\" > ? ORDER BY \"EmployeeId\" ASC LIMIT ?";
+
+    static final String FIND_BY_ID_SQL =
+            "SELECT " + COLUMNS + " FROM UnicornEmployee WHERE \"EmployeeId\" = ?";
+
+    static final String FIND_BY_IDS_SQL =
+            "SELECT " + COLUMNS + " FROM UnicornEmployee WHERE \"EmployeeId\" = ANY (?) ORDER BY \"EmployeeId\" ASC";
+
+    // An empty string matches any value. Binding '' instead of NULL keeps the parameter types,
+    // and with them the server-side prepared statement, the same for every combination.
+    static final String FIND_FILTERED_SQL =
+            "SELECT " + COLUMNS + " FROM UnicornEmployee WHERE \"EmployeeId\" > ?"
+                    + " AND (? = '' OR \"Location\" = ?) AND (? = '' OR \"ExemptStatus\" = ?)"
+                    + " ORDER BY \"EmployeeId\" ASC LIMIT ?";
+
+    static final int FETCH_SIZE = 100;
+
+    private UnicornEmployeeSql() {
+    }
+
+    static UnicornEmployee mapRow(ResultSet resultSet) throws SQLException {
+        return new UnicornEmployee(resultSet.getInt("EmployeeId"),
+                resultSet.getString("EmployeeName"),
+                resultSet.getString("Location"),
+                resultSet.getString("Gender"),
+                resultSet.getString("DateHired"),
+                resultSet.getString("ExemptStatus"));
+    }
+
+    static Object[] filterArgs(String location, String exemptStatus, PageRequest pageRequest) {
+        var locationArg = location != null ? location : "";
+        var exemptStatusArg = exemptStatus != null ? exemptStatus : "";
+        return new Object[] { pageRequest.afterId(), locationArg, locationArg, exemptStatusArg, exemptStatusArg,
+                pageRequest.pageSize() };
+    }
+
+    static List<PrimingQuery> primingQueries() {
+        var first = PageRequest.FIRST;
+        return List.of(new PrimingQuery("findAll", FIND_ALL_SQL),
+                new PrimingQuery("findPage", FIND_PAGE_SQL, first.afterId(), first.pageSize()),
+                new PrimingQuery("findById", FIND_BY_ID_SQL, 1),
+                new PrimingQuery("findByIds", FIND_BY_IDS_SQL, (Object) new int[] { 1, 2 }),
+                new PrimingQuery("findFiltered", FIND_FILTERED_SQL,
+                        filterArgs("Washington", null, first)));
+    }
+
+}
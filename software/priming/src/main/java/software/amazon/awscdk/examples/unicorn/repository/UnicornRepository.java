@@ -17,19 +17,31 @@
  */
 package software.amazon.awscdk.examples.unicorn.repository;
 
+import static software.amazon.awscdk.examples.unicorn.repository.UnicornEmployeeSql.FETCH_SIZE;
+import static software.amazon.awscdk.examples.unicorn.repository.UnicornEmployeeSql.FIND_ALL_SQL;
+import static software.amazon.awscdk.examples.unicorn.repository.UnicornEmployeeSql.FIND_BY_IDS_SQL;
+import static software.amazon.awscdk.examples.unicorn.repository.UnicornEmployeeSql.FIND_BY_ID_SQL;
+import static software.amazon.awscdk.examples.unicorn.repository.UnicornEmployeeSql.FIND_FILTERED_SQL;
+import static software.amazon.awscdk.examples.unicorn.repository.UnicornEmployeeSql.FIND_PAGE_SQL;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import software.amazon.awscdk.examples.unicorn.model.PageRequest;
 import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
 
 @Repository
-public class UnicornRepository {
+public class UnicornRepository implements EmployeeRepository {
 
     private static final Logger log = LoggerFactory.getLogger(UnicornRepository.class);
 
@@ -41,20 +53,16 @@ public class UnicornRepository {
         log.info("UnicornRepository->finished");
     }
 
+    @Override
     public List<UnicornEmployee> findAll() {
         log.info("findAll->started");
 
         List<UnicornEmployee> unicornEmployees;
 
         try {
-            unicornEmployees = jdbcTemplate.query("SELECT * FROM UnicornEmployee ORDER BY \"EmployeeId\" ASC LIMIT 10", (resultSet, rowNum) -> {
-                return new UnicornEmployee(resultSet.getInt("EmployeeId"),
-                        resultSet.getString("EmployeeName"),
-                        resultSet.getString("Location"),
-                        resultSet.getString("Gender"),
-                        resultSet.getString("DateHired"),
-                        resultSet.getString("ExemptStatus"));
-            });
+            // A plain Statement is never promoted to a server-side prepared statement.
+            unicornEmployees = jdbcTemplate.query(connection -> connection.prepareStatement(FIND_ALL_SQL),
+                    UnicornEmployeeRowMapper.INSTANCE);
         } catch (BadSqlGrammarException exception) {
             unicornEmployees = List.of();
         } catch (Exception exception) {
@@ -66,4 +74,134 @@ public class UnicornRepository {
 
         return unicornEmployees;
     }
+
+    @Override
+    public List<UnicornEmployee> findPage(PageRequest pageRequest) {
+        log.info("findPage->started");
+
+        var unicornEmployees = new ArrayList<UnicornEmployee>(pageRequest.pageSize());
+
+        try {
+            forEachInPage(pageRequest, unicornEmployees::add);
+        } catch (BadSqlGrammarException exception) {
+            unicornEmployees.clear();
+        } catch (Exception exception) {
+            log.error("findPage->error: {}", exception.getMessage());
+            unicornEmployees.clear();
+        }
+
+        log.info("findPage->finished");
+
+        return unicornEmployees;
+    }
+
+    @Override
+    public List<UnicornEmployee> findById(int employeeId) {
+        log.info("findById->started");
+
+        List<UnicornEmployee> unicornEmployees;
+
+        try {
+            unicornEmployees = jdbcTemplate.query(FIND_BY_ID_SQL, UnicornEmployeeRowMapper.INSTANCE, employeeId);
+        } catch (BadSqlGrammarException exception) {
+            unicornEmployees = List.of();
+        } catch (Exception exception) {
+            log.error("findById->error: {}", exception.getMessage());
+            unicornEmployees = List.of();
+        }
+
+        log.info("findById->finished");
+
+        return unicornEmployees;
+    }
+
+    // pgjdbc binds an int[] as an int4[] array without boxing the ids.
+    @Override
+    public List<UnicornEmployee> findByIds(int[] employeeIds) {
+        log.info("findByIds->started");
+
+        List<UnicornEmployee> unicornEmployees;
+
+        try {
+            unicornEmployees = jdbcTemplate.query(FIND_BY_IDS_SQL, UnicornEmployeeRowMapper.INSTANCE,
+                    (Object) employeeIds);
+        } catch (BadSqlGrammarException exception) {
+            unicornEmployees = List.of();
+        } catch (Exception exception) {
+            log.error("findByIds->error: {}", exception.getMessage());
+            unicornEmployees = List.of();
+        }
+
+        log.info("findByIds->finished");
+
+        return unicornEmployees;
+    }
+
+    @Override
+    public List<UnicornEmployee> findFiltered(String location, String exemptStatus, PageRequest pageRequest) {
+        log.info("findFiltered->started");
+
+        var unicornEmployees = new ArrayList<UnicornEmployee>(pageRequest.pageSize());
+
+        try {
+            forEach(FIND_FILTERED_SQL, pageRequest.pageSize(), unicornEmployees::add,
+                    UnicornEmployeeSql.filterArgs(location, exemptStatus, pageRequest));
+        } catch (BadSqlGrammarException exception) {
+            unicornEmployees.clear();
+        } catch (Exception exception) {
+            log.error("findFiltered->error: {}", exception.getMessage());
+            unicornEmployees.clear();
+        }
+
+        log.info("findFiltered->finished");
+
+        return unicornEmployees;
+    }
+
+    @Override
+    public void forEachInPage(PageRequest pageRequest, Consumer<UnicornEmployee> consumer) {
+        forEach(FIND_PAGE_SQL, pageRequest.pageSize(), consumer, pageRequest.afterId(), pageRequest.pageSize());
+    }
+
+    @Override
+    public void forEachUpTo(int limit, Consumer<UnicornEmployee> consumer) {
+        forEach(FIND_PAGE_SQL, limit, consumer, 0, limit);
+    }
+
+    // The PostgreSQL driver only honours the fetch size inside a transaction, otherwise it
+    // buffers the whole result set before returning the first row.
+    private void forEach(String sql, int limit, Consumer<UnicornEmployee> consumer, Object... args) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            var autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (var statement = connection.prepareStatement(sql)) {
+                statement.setFetchSize(Math.min(FETCH_SIZE, limit));
+                for (var i = 0; i < args.length; i++) {
+                    statement.setObject(i + 1, args[i]);
+                }
+
+                try (var resultSet = statement.executeQuery()) {
+                    var rowNum = 0;
+                    while (resultSet.next()) {
+                        consumer.accept(UnicornEmployeeRowMapper.INSTANCE.mapRow(resultSet, rowNum++));
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+
+            return null;
+        });
+    }
+
+    @Override
+    public List<PrimingQuery> primingQueries() {
+        return UnicornEmployeeSql.primingQueries();
+    }
+
 }
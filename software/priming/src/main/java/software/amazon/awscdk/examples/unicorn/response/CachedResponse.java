@@ -0,0 +1,44 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+// body holds the serialized bytes the compressed variants are built from, text is the same body as
+// served without compression and encodedBodies holds the variants requested so far, base64 encoded.
+public record CachedResponse(byte[] body, String text, String etag, long dataVersion, long createdAt,
+        Map<ContentEncoding, String> encodedBodies) {
+
+    public CachedResponse(byte[] body, String etag, long dataVersion, long createdAt) {
+        this(body, new String(body, StandardCharsets.UTF_8), etag, dataVersion, createdAt, Map.of());
+    }
+
+    public int bodySize() {
+        return body.length;
+    }
+
+    public CachedResponse withEncodedBody(ContentEncoding encoding) {
+        var bodies = new EnumMap<ContentEncoding, String>(ContentEncoding.class);
+        bodies.putAll(encodedBodies);
+        bodies.put(encoding, encoding.encode(body));
+        return new CachedResponse(body, text, etag, dataVersion, createdAt, bodies);
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+public enum ContentEncoding {
+
+    IDENTITY(null), GZIP("gzip"), DEFLATE("deflate");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    // gzip is preferred over deflate when the client accepts both, q-values of 0 exclude a coding.
+    public static ContentEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+
+        // null means the coding is not listed, it is then covered by a wildcard if present.
+        Boolean gzip = null;
+        Boolean deflate = null;
+        var wildcard = false;
+        for (var part : acceptEncoding.split(",")) {
+            var parameters = part.split(";");
+            var accepted = accepted(parameters);
+            switch (parameters[0].trim().toLowerCase(Locale.ROOT)) {
+                case "gzip", "x-gzip" -> gzip = accepted;
+                case "deflate" -> deflate = accepted;
+                case "*" -> wildcard = accepted;
+                default -> {
+                }
+            }
+        }
+
+        if (gzip != null ? gzip : wildcard) {
+            return GZIP;
+        }
+        if (deflate != null ? deflate : wildcard) {
+            return DEFLATE;
+        }
+        return IDENTITY;
+    }
+
+    // Each encoding is a different representation and gets its own strong ETag.
+    public String etag(String identityEtag) {
+        if (this == IDENTITY) {
+            return identityEtag;
+        }
+        return identityEtag.substring(0, identityEtag.length() - 1) + "-" + token + "\"";
+    }
+
+    // API Gateway expects binary bodies base64 encoded.
+    public String encode(byte[] body) {
+        var compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (var out = this == GZIP ? new GZIPOutputStream(compressed) : new DeflaterOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return Base64.getEncoder().encodeToString(compressed.toByteArray());
+    }
+
+    private static boolean accepted(String[] parameters) {
+        for (var i = 1; i < parameters.length; i++) {
+            var parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) > 0;
+                } catch (NumberFormatException exception) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.response;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ResponseCache {
+
+    private final ConcurrentHashMap<String, CachedResponse> entries = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    private final int maxEntries;
+
+    public ResponseCache(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public CachedResponse get(String key, long dataVersion) {
+        var cachedResponse = entries.get(key);
+        if (cachedResponse == null) {
+            return null;
+        }
+
+        if (cachedResponse.dataVersion() != dataVersion || System.nanoTime() - cachedResponse.createdAt() > ttlNanos) {
+            entries.remove(key, cachedResponse);
+            return null;
+        }
+
+        return cachedResponse;
+    }
+
+    public void put(String key, CachedResponse cachedResponse) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            entries.clear();
+        }
+        entries.put(key, cachedResponse);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+}
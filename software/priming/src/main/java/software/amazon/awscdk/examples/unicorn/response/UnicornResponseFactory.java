@@ -0,0 +1,236 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.response;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+
+import software.amazon.awscdk.examples.unicorn.config.UnicornCompressionProperties;
+import software.amazon.awscdk.examples.unicorn.config.UnicornResponseCacheProperties;
+import software.amazon.awscdk.examples.unicorn.json.UnicornJsonWriter;
+import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
+import software.amazon.awscdk.examples.unicorn.model.UnicornQuery;
+import software.amazon.awscdk.examples.unicorn.restore.RestoreTask;
+import software.amazon.awscdk.examples.unicorn.restore.RestoreTaskSource;
+import software.amazon.awscdk.examples.unicorn.service.UnicornService;
+
+@Component
+public class UnicornResponseFactory implements RestoreTaskSource {
+
+    private static final int ETAG_BYTES = 16;
+
+    private final UnicornJsonWriter jsonWriter;
+
+    private final UnicornService unicornService;
+
+    private final ResponseCache responseCache;
+
+    private final UnicornCompressionProperties compressionProperties;
+
+    public UnicornResponseFactory(UnicornJsonWriter jsonWriter, UnicornService unicornService,
+            UnicornResponseCacheProperties responseCacheProperties, UnicornCompressionProperties compressionProperties) {
+        this.jsonWriter = jsonWriter;
+        this.unicornService = unicornService;
+        this.responseCache = responseCacheProperties.enabled()
+                ? new ResponseCache(responseCacheProperties.ttl(), responseCacheProperties.maxEntries())
+                : null;
+        this.compressionProperties = compressionProperties;
+    }
+
+    public APIGatewayV2HTTPResponse create(APIGatewayV2HTTPEvent event,
+            Function<UnicornQuery, List<UnicornEmployee>> loader) {
+        UnicornQuery query;
+        try {
+            query = UnicornQuery.from(event.getQueryStringParameters());
+        } catch (IllegalArgumentException exception) {
+            return APIGatewayV2HTTPResponse.builder()
+                    .withStatusCode(400)
+                    .withBody(exception.getMessage())
+                    .build();
+        }
+
+        if (responseCache == null) {
+            var unicornEmployees = loader.apply(query);
+            if (isNotFound(query, unicornEmployees)) {
+                return notFound();
+            }
+            return render(event, unicornEmployees);
+        }
+
+        var queryKey = query.cacheKey();
+        var dataVersion = unicornService.dataVersion();
+        var cachedResponse = responseCache.get(queryKey, dataVersion);
+        if (cachedResponse == null) {
+            var unicornEmployees = loader.apply(query);
+            if (isNotFound(query, unicornEmployees)) {
+                return notFound();
+            }
+            var body = jsonWriter.toJsonBytes(unicornEmployees);
+            cachedResponse = new CachedResponse(body, etag(body), dataVersion, System.nanoTime());
+            responseCache.put(queryKey, cachedResponse);
+        }
+
+        return respond(event, cachedResponse, queryKey);
+    }
+
+    // Serializes the employees on every call and bypasses the response cache. The ETag is computed
+    // from the body all the same, so conditional requests get a 304 with or without the cache.
+    public APIGatewayV2HTTPResponse render(APIGatewayV2HTTPEvent event, List<UnicornEmployee> unicornEmployees) {
+        var body = jsonWriter.toJsonBytes(unicornEmployees);
+        return respond(event, new CachedResponse(body, etag(body), 0, System.nanoTime()), null);
+    }
+
+    // A null queryKey means the response is not cached.
+    private APIGatewayV2HTTPResponse respond(APIGatewayV2HTTPEvent event, CachedResponse cachedResponse,
+            String queryKey) {
+        var encoding = compressionProperties.enabled()
+                ? ContentEncoding.negotiate(header(event, "Accept-Encoding"))
+                : ContentEncoding.IDENTITY;
+        if (!compress(encoding, cachedResponse.bodySize())) {
+            encoding = ContentEncoding.IDENTITY;
+        }
+
+        // A compressed variant is built on its first request and cached with the response.
+        String encodedBody = null;
+        if (encoding != ContentEncoding.IDENTITY) {
+            encodedBody = cachedResponse.encodedBodies().get(encoding);
+            if (encodedBody == null) {
+                cachedResponse = cachedResponse.withEncodedBody(encoding);
+                encodedBody = cachedResponse.encodedBodies().get(encoding);
+                if (queryKey != null) {
+                    responseCache.put(queryKey, cachedResponse);
+                }
+            }
+        }
+
+        var etag = encoding.etag(cachedResponse.etag());
+        var headers = headers(etag);
+
+        if (matches(header(event, "If-None-Match"), etag)) {
+            return APIGatewayV2HTTPResponse.builder()
+                    .withStatusCode(304)
+                    .withHeaders(headers)
+                    .build();
+        }
+
+        headers.put("Content-Type", "application/json");
+        if (encodedBody != null) {
+            headers.put("Content-Encoding", encoding.token());
+            return ok(headers, encodedBody, true);
+        }
+        return ok(headers, cachedResponse.text(), false);
+    }
+
+    // Entries captured in the snapshot may be arbitrarily old once it is restored.
+    @Override
+    public List<RestoreTask> restoreTasks() {
+        if (responseCache == null) {
+            return List.of();
+        }
+        return List.of(new RestoreTask("response-cache-clear", 0, Set.of(), RestoreTask.Policy.BLOCKING,
+                responseCache::clear));
+    }
+
+    private boolean compress(ContentEncoding encoding, int bodySize) {
+        return encoding != ContentEncoding.IDENTITY && bodySize >= compressionProperties.minSize();
+    }
+
+    // With compression enabled the body depends on Accept-Encoding, which shared caches have to know.
+    private Map<String, String> headers(String etag) {
+        var headers = new HashMap<String, String>();
+        if (etag != null) {
+            headers.put("ETag", etag);
+        }
+        if (compressionProperties.enabled()) {
+            headers.put("Vary", "Accept-Encoding");
+        }
+        return headers;
+    }
+
+    private static APIGatewayV2HTTPResponse ok(Map<String, String> headers, String body, boolean base64Encoded) {
+        return APIGatewayV2HTTPResponse.builder()
+                .withStatusCode(200)
+                .withHeaders(headers)
+                .withBody(body)
+                .withIsBase64Encoded(base64Encoded)
+                .build();
+    }
+
+    // A single employee that does not exist is a 404, the other queries return an empty list.
+    private static boolean isNotFound(UnicornQuery query, List<UnicornEmployee> unicornEmployees) {
+        return query instanceof UnicornQuery.ById && unicornEmployees.isEmpty();
+    }
+
+    private static APIGatewayV2HTTPResponse notFound() {
+        return APIGatewayV2HTTPResponse.builder()
+                .withStatusCode(404)
+                .build();
+    }
+
+    static String header(APIGatewayV2HTTPEvent event, String name) {
+        var headers = event.getHeaders();
+        if (headers == null) {
+            return null;
+        }
+
+        for (var header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (var candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"%s\"".formatted(HexFormat.of().formatHex(digest, 0, ETAG_BYTES));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+}
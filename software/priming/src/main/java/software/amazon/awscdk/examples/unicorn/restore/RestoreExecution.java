@@ -0,0 +1,222 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.restore;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awscdk.examples.unicorn.metrics.StartupTimeline;
+
+// One run of the restore tasks. A coordinator thread starts each task on its own virtual
+// thread as soon as its dependencies have succeeded, and at most maxConcurrency at a time.
+final class RestoreExecution {
+
+    private static final Logger log = LoggerFactory.getLogger(RestoreExecution.class);
+
+    private final Map<String, RestoreTask> tasks;
+
+    private final int maxConcurrency;
+
+    private final Map<String, List<RestoreTask>> dependents = new HashMap<>();
+
+    private final Map<String, Integer> waitingOn = new HashMap<>();
+
+    private final Map<String, Integer> order = new HashMap<>();
+
+    private final PriorityQueue<RestoreTask> ready;
+
+    private final BlockingQueue<RestoreTaskResult> completions = new LinkedBlockingQueue<>();
+
+    private final Map<String, RestoreTaskResult> results = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> startedAt = new ConcurrentHashMap<>();
+
+    private final CountDownLatch blockingTasks;
+
+    private final long createdAt = System.nanoTime();
+
+    RestoreExecution(List<RestoreTask> tasks, int maxConcurrency) {
+        this.tasks = validate(tasks);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+
+        for (var task : tasks) {
+            order.put(task.name(), order.size());
+            waitingOn.put(task.name(), task.dependsOn().size());
+            for (var dependency : task.dependsOn()) {
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(task);
+            }
+        }
+
+        this.ready = new PriorityQueue<>(Comparator
+                .comparing((RestoreTask task) -> task.policy() != RestoreTask.Policy.BLOCKING)
+                .thenComparing(Comparator.comparingInt(RestoreTask::priority).reversed())
+                .thenComparingInt(task -> order.get(task.name())));
+        tasks.stream().filter(task -> task.dependsOn().isEmpty()).forEach(ready::add);
+
+        this.blockingTasks = new CountDownLatch(
+                (int) tasks.stream().filter(task -> task.policy() == RestoreTask.Policy.BLOCKING).count());
+    }
+
+    // Names have to be unique, dependencies have to exist and must not form a cycle.
+    static Map<String, RestoreTask> validate(List<RestoreTask> tasks) {
+        var byName = new LinkedHashMap<String, RestoreTask>();
+        for (var task : tasks) {
+            if (byName.put(task.name(), task) != null) {
+                throw new IllegalStateException("Duplicate restore task " + task.name());
+            }
+        }
+
+        for (var task : tasks) {
+            for (var dependency : task.dependsOn()) {
+                if (!byName.containsKey(dependency)) {
+                    throw new IllegalStateException(
+                            "Restore task " + task.name() + " depends on unknown task " + dependency);
+                }
+            }
+        }
+
+        var resolved = new HashMap<String, Boolean>();
+        for (var task : tasks) {
+            checkCycle(task, byName, resolved);
+        }
+
+        return byName;
+    }
+
+    // resolved holds false while a task is on the current path and true once it is done.
+    private static void checkCycle(RestoreTask task, Map<String, RestoreTask> byName, Map<String, Boolean> resolved) {
+        var state = resolved.get(task.name());
+        if (Boolean.TRUE.equals(state)) {
+            return;
+        }
+        if (Boolean.FALSE.equals(state)) {
+            throw new IllegalStateException("Restore task " + task.name() + " is part of a dependency cycle");
+        }
+
+        resolved.put(task.name(), false);
+        for (var dependency : task.dependsOn()) {
+            checkCycle(byName.get(dependency), byName, resolved);
+        }
+        resolved.put(task.name(), true);
+    }
+
+    void run() {
+        var running = 0;
+        try {
+            while (true) {
+                while (running < maxConcurrency && !ready.isEmpty()) {
+                    start(ready.poll());
+                    running++;
+                }
+                if (running == 0) {
+                    break;
+                }
+
+                var result = completions.take();
+                running--;
+                complete(result);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    boolean awaitBlocking(long timeout, TimeUnit unit) throws InterruptedException {
+        return blockingTasks.await(timeout, unit);
+    }
+
+    // Tasks in registration order, the unfinished ones as RUNNING.
+    List<RestoreTaskResult> results() {
+        var now = System.nanoTime();
+        var report = new ArrayList<RestoreTaskResult>(tasks.size());
+        for (var task : tasks.values()) {
+            var result = results.get(task.name());
+            if (result == null) {
+                var start = startedAt.getOrDefault(task.name(), createdAt);
+                result = new RestoreTaskResult(task.name(), task.policy(), RestoreTaskResult.Status.RUNNING,
+                        TimeUnit.NANOSECONDS.toMillis(now - start), null);
+            }
+            report.add(result);
+        }
+        return report;
+    }
+
+    private void start(RestoreTask task) {
+        var start = System.nanoTime();
+        startedAt.put(task.name(), start);
+
+        Thread.ofVirtual().name("restore-" + task.name()).start(() -> {
+            RestoreTaskResult.Status status;
+            String error = null;
+            try {
+                task.action().run();
+                status = RestoreTaskResult.Status.SUCCEEDED;
+            } catch (RuntimeException | Error exception) {
+                status = RestoreTaskResult.Status.FAILED;
+                error = exception.toString();
+            }
+
+            var end = System.nanoTime();
+            StartupTimeline.record("Restore:" + task.name(), start, end);
+            completions.add(new RestoreTaskResult(task.name(), task.policy(), status,
+                    TimeUnit.NANOSECONDS.toMillis(end - start), error));
+        });
+    }
+
+    private void complete(RestoreTaskResult result) {
+        if (results.putIfAbsent(result.name(), result) != null) {
+            return;
+        }
+
+        if (result.status() == RestoreTaskResult.Status.FAILED) {
+            log.error("restoreTask: name={}, policy={}, status={}, durationMillis={}, error={}",
+                    result.name(), result.policy(), result.status(), result.durationMillis(), result.error());
+        } else {
+            log.info("restoreTask: name={}, policy={}, status={}, durationMillis={}",
+                    result.name(), result.policy(), result.status(), result.durationMillis());
+        }
+
+        for (var dependent : dependents.getOrDefault(result.name(), List.of())) {
+            if (result.status() != RestoreTaskResult.Status.SUCCEEDED) {
+                complete(new RestoreTaskResult(dependent.name(), dependent.policy(),
+                        RestoreTaskResult.Status.SKIPPED, 0, null));
+            } else if (waitingOn.merge(dependent.name(), -1, Integer::sum) == 0
+                    && !results.containsKey(dependent.name())) {
+                ready.add(dependent);
+            }
+        }
+
+        if (result.policy() == RestoreTask.Policy.BLOCKING) {
+            blockingTasks.countDown();
+        }
+    }
+
+}
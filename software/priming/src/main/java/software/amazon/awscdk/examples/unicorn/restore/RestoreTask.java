@@ -0,0 +1,40 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.restore;
+
+import java.util.Objects;
+import java.util.Set;
+
+// A unit of work that runs after a restore. Tasks without a dependency path between them run
+// concurrently. The restore hook waits for the blocking tasks, up to the deadline, while the
+// background tasks finish on their own. When more tasks are ready than may run at once,
+// blocking tasks start first and then the ones with the higher priority.
+public record RestoreTask(String name, int priority, Set<String> dependsOn, Policy policy, Runnable action) {
+
+    public enum Policy {
+        BLOCKING, BACKGROUND
+    }
+
+    public RestoreTask {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(policy, "policy");
+        Objects.requireNonNull(action, "action");
+        dependsOn = dependsOn == null ? Set.of() : Set.copyOf(dependsOn);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.restore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import software.amazon.awscdk.examples.unicorn.config.UnicornRestoreProperties;
+
+// Runs the tasks of every RestoreTaskSource bean after a restore, once the Hikari pool has been
+// resumed. The restore hook returns when the blocking tasks are done or the deadline has passed,
+// whichever comes first; tasks that are still running at that point carry on in the background.
+// Every task logs its duration and is recorded in the startup timeline. RestoreTaskLifecycle
+// drives it in the Spring handlers.
+@Component
+public class RestoreTaskScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RestoreTaskScheduler.class);
+
+    private final List<RestoreTaskSource> restoreTaskSources;
+
+    private final UnicornRestoreProperties restoreProperties;
+
+    public RestoreTaskScheduler(List<RestoreTaskSource> restoreTaskSources,
+            UnicornRestoreProperties restoreProperties) {
+        this.restoreTaskSources = restoreTaskSources;
+        this.restoreProperties = restoreProperties;
+    }
+
+    // Runs on startup, where there is nothing to restore, so a broken dependency shows up before
+    // the snapshot is taken.
+    public void validate() {
+        RestoreExecution.validate(tasks());
+    }
+
+    public List<RestoreTaskResult> run() {
+        log.info("run->started");
+
+        var start = System.nanoTime();
+        var execution = new RestoreExecution(tasks(), restoreProperties.maxConcurrency());
+        Thread.ofVirtual().name("restore-scheduler").start(execution::run);
+
+        var deadline = restoreProperties.deadline();
+        try {
+            if (!execution.awaitBlocking(deadline.toNanos(), TimeUnit.NANOSECONDS)) {
+                log.warn("run->deadline of {} exceeded, blocking tasks continue in the background", deadline);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        var results = execution.results();
+        var unfinished = results.stream()
+                .filter(result -> result.status() == RestoreTaskResult.Status.RUNNING)
+                .map(RestoreTaskResult::name)
+                .toList();
+        log.info("run->finished: tasks={}, durationMillis={}, running={}",
+                results.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), unfinished);
+
+        return results;
+    }
+
+    private List<RestoreTask> tasks() {
+        var tasks = new ArrayList<RestoreTask>();
+        for (var restoreTaskSource : restoreTaskSources) {
+            tasks.addAll(restoreTaskSource.restoreTasks());
+        }
+        return tasks;
+    }
+
+}
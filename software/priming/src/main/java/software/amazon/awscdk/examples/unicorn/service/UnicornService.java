@@ -20,26 +20,174 @@ package software.amazon.awscdk.examples.unicorn.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import software.amazon.awscdk.examples.unicorn.cache.ReadThroughCache;
+import software.amazon.awscdk.examples.unicorn.config.DataSourceRestore;
+import software.amazon.awscdk.examples.unicorn.config.UnicornCacheProperties;
+import software.amazon.awscdk.examples.unicorn.config.UnicornIndexProperties;
+import software.amazon.awscdk.examples.unicorn.index.CompactEmployeeStore;
+import software.amazon.awscdk.examples.unicorn.index.EmployeeIndex;
+import software.amazon.awscdk.examples.unicorn.model.PageRequest;
 import software.amazon.awscdk.examples.unicorn.model.UnicornEmployee;
-import software.amazon.awscdk.examples.unicorn.repository.UnicornRepository;
+import software.amazon.awscdk.examples.unicorn.model.UnicornQuery;
+import software.amazon.awscdk.examples.unicorn.repository.EmployeeRepository;
+import software.amazon.awscdk.examples.unicorn.restore.RestoreTask;
+import software.amazon.awscdk.examples.unicorn.restore.RestoreTaskSource;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-public class UnicornService {
+public class UnicornService implements RestoreTaskSource {
 
     private static final Logger log = LoggerFactory.getLogger(UnicornService.class);
 
-    private final UnicornRepository unicornRepository;
+    private final EmployeeRepository unicornRepository;
 
-    public UnicornService(UnicornRepository unicornRepository) {
+    private final ReadThroughCache<List<UnicornEmployee>> cache;
+
+    private final UnicornIndexProperties indexProperties;
+
+    private volatile EmployeeIndex index = EmployeeIndex.EMPTY;
+
+    private final AtomicLong indexVersion = new AtomicLong();
+
+    public UnicornService(EmployeeRepository unicornRepository, UnicornCacheProperties cacheProperties,
+            UnicornIndexProperties indexProperties) {
         log.info("UnicornService->started");
         this.unicornRepository = unicornRepository;
+        this.indexProperties = indexProperties;
+        this.cache = cacheProperties.enabled()
+                ? new ReadThroughCache<>("unicorn-cache", unicornRepository::findAll,
+                        cacheProperties.ttl(), cacheProperties.maxStaleness())
+                : null;
         log.info("UnicornService->finished");
     }
 
     public List<UnicornEmployee> read() {
+        if (cache != null) {
+            return cache.get();
+        }
         return unicornRepository.findAll();
     }
 
+    // Only the first page is cached, every other page goes to the database.
+    public List<UnicornEmployee> read(PageRequest pageRequest) {
+        if (PageRequest.FIRST.equals(pageRequest)) {
+            return read();
+        }
+        return unicornRepository.findPage(pageRequest);
+    }
+
+    public List<UnicornEmployee> read(UnicornQuery query) {
+        return switch (query) {
+            case UnicornQuery.Page page -> read(page.pageRequest());
+            case UnicornQuery.ById byId -> findById(byId.employeeId());
+            case UnicornQuery.ByIds byIds -> findByIds(byIds.employeeIds());
+            case UnicornQuery.Filter filter -> index.isComplete()
+                    ? index.filter(filter.location(), filter.exemptStatus(), filter.pageRequest())
+                    : unicornRepository.findFiltered(filter.location(), filter.exemptStatus(), filter.pageRequest());
+        };
+    }
+
+    // Ids missing from the index may have been inserted after it was built, so they are
+    // looked up in the database.
+    private List<UnicornEmployee> findById(int employeeId) {
+        var employee = index.get(employeeId);
+        if (employee != null) {
+            return List.of(employee);
+        }
+        return unicornRepository.findById(employeeId);
+    }
+
+    private List<UnicornEmployee> findByIds(int[] employeeIds) {
+        var current = index;
+        var unicornEmployees = new ArrayList<UnicornEmployee>(employeeIds.length);
+        var misses = new int[employeeIds.length];
+        var missCount = 0;
+
+        for (var employeeId : employeeIds) {
+            var employee = current.get(employeeId);
+            if (employee != null) {
+                unicornEmployees.add(employee);
+            } else {
+                misses[missCount++] = employeeId;
+            }
+        }
+
+        if (missCount > 0) {
+            unicornEmployees.addAll(unicornRepository.findByIds(Arrays.copyOf(misses, missCount)));
+            unicornEmployees.sort(Comparator.comparingInt(UnicornEmployee::employeeId));
+        }
+
+        return unicornEmployees;
+    }
+
+    // Cached responses of every query are checked against this version, so it moves whenever the
+    // cache loads changed rows or the index is rebuilt. Both counters only grow, and so does their sum.
+    public long dataVersion() {
+        return (cache != null ? cache.version() : 0) + indexVersion.get();
+    }
+
+    // Runs once on startup, so the cache and the index are filled before the snapshot is taken.
+    // The refresh after a restore is done by the restore tasks. A failed load leaves the cache
+    // empty instead of failing the startup: the first read or the restore task fills it.
+    public void initialize() {
+        if (cache != null) {
+            try {
+                cache.load();
+            } catch (RuntimeException exception) {
+                log.error("initialize->cache error: {}", exception.getMessage());
+            }
+        }
+        if (indexProperties.enabled()) {
+            buildIndex();
+        }
+    }
+
+    // Both wait for the connections to be reopened. The restored copies keep serving while
+    // their replacements are loaded, so only an index that was never built holds up requests.
+    @Override
+    public List<RestoreTask> restoreTasks() {
+        var tasks = new ArrayList<RestoreTask>();
+        if (cache != null) {
+            tasks.add(new RestoreTask("unicorn-cache", 0, Set.of(DataSourceRestore.RECONNECT_TASK),
+                    RestoreTask.Policy.BACKGROUND, () -> {
+                        cache.expire();
+                        cache.load();
+                    }));
+        }
+        if (indexProperties.enabled()) {
+            tasks.add(new RestoreTask("unicorn-index", 0, Set.of(DataSourceRestore.RECONNECT_TASK),
+                    index.size() > 0 ? RestoreTask.Policy.BACKGROUND : RestoreTask.Policy.BLOCKING,
+                    this::buildIndex));
+        }
+        return tasks;
+    }
+
+    private void buildIndex() {
+        log.info("buildIndex->started");
+
+        var maxEntries = indexProperties.maxEntries();
+        // The rows go straight into the columns, without an intermediate list of records.
+        var storeBuilder = new CompactEmployeeStore.Builder();
+
+        try {
+            unicornRepository.forEachUpTo(maxEntries + 1, storeBuilder);
+        } catch (RuntimeException exception) {
+            log.error("buildIndex->error: {}", exception.getMessage());
+            return;
+        }
+
+        var complete = storeBuilder.size() <= maxEntries;
+        index = new EmployeeIndex(storeBuilder.build(maxEntries), complete);
+        indexVersion.incrementAndGet();
+
+        log.info("buildIndex->finished: entries={}, complete={}, footprintBytes={}",
+                index.size(), complete, index.footprintBytes());
+    }
+
 }
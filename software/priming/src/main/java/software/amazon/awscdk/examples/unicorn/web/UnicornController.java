@@ -0,0 +1,100 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn.web;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+
+import software.amazon.awscdk.examples.unicorn.response.UnicornResponseFactory;
+import software.amazon.awscdk.examples.unicorn.service.UnicornService;
+
+// Serves the API of the handlers over HTTP when the application runs as a long-running server
+// (the server profile). Requests go through the same response factory as in Lambda, so paging,
+// lookups, ETags, caching and compression behave the same in both deployments.
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UnicornController {
+
+    private static final Logger log = LoggerFactory.getLogger(UnicornController.class);
+
+    private final UnicornResponseFactory responseFactory;
+
+    private final UnicornService unicornService;
+
+    public UnicornController(UnicornResponseFactory responseFactory, UnicornService unicornService) {
+        this.responseFactory = responseFactory;
+        this.unicornService = unicornService;
+    }
+
+    @GetMapping({ "/", "/unicorns" })
+    public ResponseEntity<byte[]> getUnicorns(@RequestParam Map<String, String> queryStringParameters,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("getUnicorns->started");
+
+        // Only the headers the response factory looks at are passed on.
+        var headers = new HashMap<String, String>();
+        if (acceptEncoding != null) {
+            headers.put(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            headers.put(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        var event = APIGatewayV2HTTPEvent.builder()
+                .withQueryStringParameters(queryStringParameters)
+                .withHeaders(headers)
+                .build();
+
+        var response = responseFactory.create(event, unicornService::read);
+
+        var responseEntity = ResponseEntity.status(response.getStatusCode());
+        if (response.getHeaders() != null) {
+            response.getHeaders().forEach(responseEntity::header);
+        }
+
+        log.info("getUnicorns->finished");
+
+        var body = response.getBody();
+        if (body == null) {
+            return responseEntity.build();
+        }
+        // API Gateway answers with JSON when the handler sets no content type, errors are plain text here.
+        if (response.getHeaders() == null || !response.getHeaders().containsKey(HttpHeaders.CONTENT_TYPE)) {
+            responseEntity.contentType(response.getStatusCode() == 200 ? MediaType.APPLICATION_JSON : MediaType.TEXT_PLAIN);
+        }
+        return responseEntity.body(response.getIsBase64Encoded()
+                ? Base64.getDecoder().decode(body)
+                : body.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
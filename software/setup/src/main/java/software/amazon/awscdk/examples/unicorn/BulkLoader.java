@@ -0,0 +1,211 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Loads synthetic rows into an empty UnicornEmployee table. The row range is split into one
+// slice per connection and the slices are loaded in parallel, either streamed through COPY or
+// sent as JDBC batches. EmployeeId still comes from the sequence.
+public class BulkLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkLoader.class);
+
+    private static final String COLUMNS = "\"EmployeeName\", \"Location\", \"Gender\", \"DateHired\", \"ExemptStatus\"";
+
+    private static final String COPY_SQL = "COPY UnicornEmployee (" + COLUMNS + ") FROM STDIN";
+
+    private static final String INSERT_SQL = "INSERT INTO UnicornEmployee (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?)";
+
+    private static final int COPY_CHUNK_ROWS = 10_000;
+
+    private static final int BATCH_SIZE = 1_000;
+
+    public enum Mode {
+        COPY, BATCH;
+
+        public static Mode parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException exception) {
+                throw new IllegalArgumentException("mode must be copy or batch, was: " + value);
+            }
+        }
+    }
+
+    public record Result(long rows, Mode mode, int connections, long durationMillis) {
+
+        public long rowsPerSecond() {
+            return durationMillis == 0 ? rows * 1000 : rows * 1000 / durationMillis;
+        }
+
+    }
+
+    private final String url;
+
+    private final String username;
+
+    private final String password;
+
+    public BulkLoader(String url, String username, String password) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    public Result load(long rows, Mode mode, int connections) throws SQLException {
+        log.info("load->started: rows={}, mode={}, connections={}", rows, mode, connections);
+
+        var startTime = System.nanoTime();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var slices = new ArrayList<Future<Long>>(connections);
+            for (var i = 0; i < connections; i++) {
+                var from = rows * i / connections;
+                var to = rows * (i + 1) / connections;
+                slices.add(executor.submit(() -> loadSlice(mode, from, to)));
+            }
+
+            for (var slice : slices) {
+                slice.get();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Bulk load interrupted", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException("Bulk load failed", exception.getCause());
+        }
+
+        // Gives the planner the real table size before the first query.
+        try (var connection = connect(false); var statement = connection.createStatement()) {
+            statement.execute("ANALYZE UnicornEmployee");
+        }
+
+        var result = new Result(rows, mode, connections, (System.nanoTime() - startTime) / 1_000_000);
+
+        log.info("load->finished: durationMillis={}, rowsPerSecond={}", result.durationMillis(), result.rowsPerSecond());
+
+        return result;
+    }
+
+    private long loadSlice(Mode mode, long from, long to) throws SQLException {
+        try (var connection = connect(mode == Mode.BATCH)) {
+            return switch (mode) {
+                case COPY -> copy(connection, from, to);
+                case BATCH -> batch(connection, from, to);
+            };
+        }
+    }
+
+    // Text format: the generated values have no tabs, newlines or backslashes to escape.
+    private static long copy(Connection connection, long from, long to) throws SQLException {
+        var copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        var buffer = new StringBuilder(COPY_CHUNK_ROWS * 64);
+
+        try {
+            for (var index = from; index < to; index++) {
+                var row = SyntheticUnicorn.of(index);
+                buffer.append(row.employeeName()).append('\t')
+                        .append(row.location()).append('\t')
+                        .append(row.gender()).append('\t')
+                        .append(row.dateHired()).append('\t')
+                        .append(row.exemptStatus()).append('\n');
+
+                if ((index - from + 1) % COPY_CHUNK_ROWS == 0) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        var bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    // The batches only bound the memory, the slice is committed once like a COPY, so a failure
+    // rolls back every row of the slice instead of leaving the batches committed so far.
+    private static long batch(Connection connection, long from, long to) throws SQLException {
+        connection.setAutoCommit(false);
+
+        try (var statement = connection.prepareStatement(INSERT_SQL)) {
+            for (var index = from; index < to; index++) {
+                var row = SyntheticUnicorn.of(index);
+                statement.setString(1, row.employeeName());
+                statement.setString(2, row.location());
+                statement.setString(3, row.gender());
+                statement.setString(4, row.dateHired());
+                statement.setString(5, row.exemptStatus());
+                statement.addBatch();
+
+                if ((index - from + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+            connection.commit();
+        } catch (SQLException exception) {
+            connection.rollback();
+            throw exception;
+        }
+
+        return to - from;
+    }
+
+    // reWriteBatchedInserts lets pgjdbc send a batch as multi-row INSERT statements.
+    private Connection connect(boolean rewriteBatchedInserts) throws SQLException {
+        var properties = new Properties();
+        if (username != null) {
+            properties.setProperty("user", username);
+        }
+        if (password != null) {
+            properties.setProperty("password", password);
+        }
+        properties.setProperty("reWriteBatchedInserts", Boolean.toString(rewriteBatchedInserts));
+        return DriverManager.getConnection(url, properties);
+    }
+
+}
@@ -31,11 +31,17 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
 
 public class SetupHandler implements RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
 
     private static final Logger log = LoggerFactory.getLogger(SetupHandler.class);
 
+    private static final int DEFAULT_CONNECTIONS = 4;
+
+    private static final int MAX_CONNECTIONS = 32;
+
     private final String url;
 
     private final String username;
@@ -60,6 +66,30 @@ public class SetupHandler implements RequestHandler<APIGatewayV2HTTPEvent, APIGa
     public APIGatewayV2HTTPResponse handleRequest(APIGatewayV2HTTPEvent event, Context context) {
         log.info("handleRequest->started");
 
+        var parameters = event.getQueryStringParameters() != null
+                ? event.getQueryStringParameters() : Map.<String, String>of();
+
+        long rows;
+        BulkLoader.Mode mode;
+        int connections;
+        try {
+            rows = Long.parseLong(parameters.getOrDefault("rows", "0").trim());
+            mode = BulkLoader.Mode.parse(parameters.getOrDefault("mode", "copy"));
+            connections = Integer.parseInt(
+                    parameters.getOrDefault("connections", String.valueOf(DEFAULT_CONNECTIONS)).trim());
+            if (rows < 0 || connections < 1 || connections > MAX_CONNECTIONS) {
+                throw new IllegalArgumentException("rows must be >= 0 and connections between 1 and " + MAX_CONNECTIONS);
+            }
+        } catch (IllegalArgumentException exception) {
+            log.info("handleRequest->finished: {}", exception.getMessage());
+
+            JsonObject body = new JsonObject();
+            body.addProperty("message", exception.getMessage());
+
+            return APIGatewayV2HTTPResponse.builder().withStatusCode(400).withBody(gson.toJson(body)).build();
+        }
+
+        JsonObject body = new JsonObject();
         String message;
 
         try (var connection = DriverManager.getConnection(url, username, password)) {
@@ -68,8 +98,19 @@ public class SetupHandler implements RequestHandler<APIGatewayV2HTTPEvent, APIGa
                     statement.executeUpdate(IOUtils.toString(schemaSql, Charset.defaultCharset()));
                 }
 
-                try (var dataSql = getClass().getClassLoader().getResourceAsStream("data.sql")) {
-                    statement.executeUpdate(IOUtils.toString(dataSql, Charset.defaultCharset()));
+                // Without a row count the fixed sample rows of data.sql are loaded.
+                if (rows == 0) {
+                    try (var dataSql = getClass().getClassLoader().getResourceAsStream("data.sql")) {
+                        statement.executeUpdate(IOUtils.toString(dataSql, Charset.defaultCharset()));
+                    }
+                } else {
+                    var result = new BulkLoader(url, username, password).load(rows, mode, connections);
+
+                    body.addProperty("rows", result.rows());
+                    body.addProperty("mode", result.mode().name().toLowerCase(Locale.ROOT));
+                    body.addProperty("connections", result.connections());
+                    body.addProperty("durationMillis", result.durationMillis());
+                    body.addProperty("rowsPerSecond", result.rowsPerSecond());
                 }
 
                 message = "Database schema initialized and data loaded";
@@ -82,7 +123,6 @@ public class SetupHandler implements RequestHandler<APIGatewayV2HTTPEvent, APIGa
 
         log.info("handleRequest->finished");
 
-        JsonObject body = new JsonObject();
         body.addProperty("message", message);
 
         return APIGatewayV2HTTPResponse.builder().withStatusCode(200).withBody(gson.toJson(body)).build();
@@ -0,0 +1,71 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package software.amazon.awscdk.examples.unicorn;
+
+import java.time.LocalDate;
+
+// Deterministic synthetic rows: every field is derived from the row index alone, so a table
+// loaded over any number of connections holds the same data.
+record SyntheticUnicorn(String employeeName, String location, String gender, String dateHired,
+        String exemptStatus) {
+
+    private static final String[] FIRST_NAMES = {"Krista", "Cora", "James", "Tara", "Devin", "Maria", "Noah",
+            "Priya", "Liam", "Aiko", "Mateo", "Fatima", "Oliver", "Chen", "Amara", "Lucas", "Sofia", "Ethan",
+            "Zara", "Hugo"};
+
+    private static final String[] LAST_NAMES = {"Orcutt", "Soto", "Millen", "Applewhite", "Lear", "Garcia",
+            "Nguyen", "Patel", "Schmidt", "Tanaka", "Rossi", "Okafor", "Dubois", "Kowalski", "Silva", "Murphy",
+            "Novak", "Haddad", "Larsen", "Moreau"};
+
+    private static final String[] LOCATIONS = {"Pennsylvania", "Massachusetts", "Washington", "California",
+            "Texas", "New York", "Oregon", "Colorado", "Florida", "Illinois"};
+
+    private static final long FIRST_HIRE_DAY = LocalDate.of(1990, 1, 1).toEpochDay();
+
+    private static final long HIRE_DAYS = LocalDate.of(2025, 1, 1).toEpochDay() - FIRST_HIRE_DAY;
+
+    static SyntheticUnicorn of(long index) {
+        var random = mix(index);
+
+        var firstName = FIRST_NAMES[(int) Long.remainderUnsigned(random, FIRST_NAMES.length)];
+        random = mix(random);
+        var lastName = LAST_NAMES[(int) Long.remainderUnsigned(random, LAST_NAMES.length)];
+        random = mix(random);
+        var location = LOCATIONS[(int) Long.remainderUnsigned(random, LOCATIONS.length)];
+        random = mix(random);
+        var hired = LocalDate.ofEpochDay(FIRST_HIRE_DAY + Long.remainderUnsigned(random, HIRE_DAYS));
+
+        // Same M/d/yy text as data.sql.
+        var year = hired.getYear() % 100;
+        var dateHired = hired.getMonthValue() + "/" + hired.getDayOfMonth() + "/" + (year < 10 ? "0" : "") + year;
+
+        return new SyntheticUnicorn(firstName + " " + lastName, location,
+                (random & 1) == 0 ? "Female" : "Male",
+                dateHired,
+                (random & 2) == 0 ? "FALSE" : "TRUE");
+    }
+
+    // SplitMix64 finalizer.
+    private static long mix(long value) {
+        var z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}